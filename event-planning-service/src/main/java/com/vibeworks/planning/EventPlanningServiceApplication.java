@@ -2,8 +2,10 @@ package com.vibeworks.planning;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EventPlanningServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(EventPlanningServiceApplication.class, args);
@@ -1,13 +1,24 @@
 package com.vibeworks.planning.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.vibeworks.planning.dto.*;
+import com.vibeworks.planning.exporter.ExportFormat;
+import com.vibeworks.planning.importer.ImportOptions;
 import com.vibeworks.planning.service.EventService;
+import com.vibeworks.planning.service.ImportJobService;
+import com.vibeworks.planning.util.exceptions.InvalidPatchException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/events")
@@ -17,16 +28,50 @@ public class EventController {
     @Autowired
     private EventService eventService;
     
+    @Autowired
+    private ImportJobService importJobService;
+    
+    /**
+     * Saves the wizard data. With write-behind enabled, the response is sent once the buffered
+     * save has been written, without holding a request thread while it waits.
+     */
     @PostMapping("/save-wizard")
-    public ResponseEntity<WizardDataResponse> saveWizardData(@RequestBody WizardDataRequest request) {
-        WizardDataResponse response = eventService.saveWizardData(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<WizardDataResponse>> saveWizardData(@RequestBody WizardDataRequest request) {
+        return eventService.submitWizardData(request).thenApply(ResponseEntity::ok);
     }
     
     @GetMapping("/wizard/{eventName}")
     public ResponseEntity<WizardDataResponse> getWizardData(@PathVariable String eventName) {
         WizardDataResponse response = eventService.getWizardData(eventName);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+    
+    /**
+     * Applies an RFC 6902 JSON Patch to the wizard data. Send the version from the last response's
+     * ETag as If-Match to have the patch rejected with 409 if someone else saved in the meantime.
+     */
+    @PatchMapping(value = "/wizard/{eventName}", consumes = {"application/json-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<WizardPatchResponse> patchWizardData(
+            @PathVariable String eventName,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        WizardPatchResponse response = eventService.patchWizardData(eventName, patch, parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+    
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidPatchException("If-Match must be the wizard version ETag");
+        }
     }
     
     @GetMapping("/wizards")
@@ -35,6 +80,23 @@ public class EventController {
         return ResponseEntity.ok(responses);
     }
     
+    @GetMapping("/wizards/summary")
+    public ResponseEntity<PageResponse<WizardSummary>> getWizardSummaries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        PageResponse<WizardSummary> page = eventService.getWizardSummaries(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<EventSearchHit>> searchEvents(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        PageResponse<EventSearchHit> page = eventService.searchEvents(query, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
     @DeleteMapping("/wizard/{eventName}")
     public ResponseEntity<Map<String, String>> deleteWizardData(@PathVariable String eventName) {
         eventService.deleteWizardData(eventName);
@@ -49,9 +111,36 @@ public class EventController {
     
     @PostMapping("/import")
     public ResponseEntity<ImportEventsResponse> importEvents(
-            @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
-        ImportEventsResponse response = eventService.importEvents(file);
+            @RequestParam("file") org.springframework.web.multipart.MultipartFile file,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "sheets", required = false) List<String> sheets) {
+        ImportOptions options = new ImportOptions(mode, sheets);
+        ImportEventsResponse response = eventService.importEvents(file, options);
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/import/async")
+    public ResponseEntity<ImportJobResponse> importEventsAsync(
+            @RequestParam("file") org.springframework.web.multipart.MultipartFile file,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "sheets", required = false) List<String> sheets) {
+        ImportOptions options = new ImportOptions(mode, sheets);
+        ImportJobResponse job = importJobService.<WizardDataResponse>submit("events", file,
+                (source, result) -> eventService.importEvents(source, result, options));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        eventService.checkExportable(exportFormat);
+        StreamingResponseBody body = out -> eventService.exportEvents(exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("events." + exportFormat.extension()).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .body(body);
+    }
 }
 
@@ -0,0 +1,26 @@
+package com.vibeworks.planning.controller;
+
+import com.vibeworks.planning.dto.ImportJobResponse;
+import com.vibeworks.planning.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/imports")
+@CrossOrigin(origins = "*")
+@Tag(name = "Imports", description = "Background import jobs API")
+public class ImportJobController {
+    
+    @Autowired
+    private ImportJobService importJobService;
+    
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get the progress of an import job")
+    public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable String jobId) {
+        ImportJobResponse job = importJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+}
@@ -1,17 +1,27 @@
 package com.vibeworks.planning.controller;
 
 import com.vibeworks.planning.dto.CreateMemberRequest;
+import com.vibeworks.planning.dto.ImportJobResponse;
 import com.vibeworks.planning.dto.ImportMembersResponse;
 import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.dto.MemberSearchCriteria;
+import com.vibeworks.planning.dto.PageResponse;
+import com.vibeworks.planning.exporter.ExportFormat;
+import com.vibeworks.planning.importer.ImportOptions;
+import com.vibeworks.planning.service.ImportJobService;
 import com.vibeworks.planning.service.MemberService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,6 +34,9 @@ public class MemberController {
     @Autowired
     private MemberService memberService;
     
+    @Autowired
+    private ImportJobService importJobService;
+    
     @PostMapping
     @Operation(summary = "Create a new member")
     public ResponseEntity<MemberResponse> createMember(@Valid @RequestBody CreateMemberRequest request) {
@@ -34,26 +47,44 @@ public class MemberController {
     @PostMapping("/import")
     @Operation(summary = "Import members from file (JSON, CSV, or Excel)")
     public ResponseEntity<ImportMembersResponse> importMembers(
-            @RequestParam("file") MultipartFile file) {
-        ImportMembersResponse response = memberService.importMembers(file);
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "sheets", required = false) List<String> sheets) {
+        ImportOptions options = new ImportOptions(mode, sheets);
+        ImportMembersResponse response = memberService.importMembers(file, options);
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/import/async")
+    @Operation(summary = "Start a background member import; poll /api/imports/{jobId} for progress")
+    public ResponseEntity<ImportJobResponse> importMembersAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "sheets", required = false) List<String> sheets) {
+        ImportOptions options = new ImportOptions(mode, sheets);
+        ImportJobResponse job = importJobService.<MemberResponse>submit("members", file,
+                (source, result) -> memberService.importMembers(source, result, options));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
     @GetMapping
     @Operation(summary = "Get all members")
     public ResponseEntity<List<MemberResponse>> getAllMembers(
             @RequestParam(required = false) String type) {
-        List<MemberResponse> members = memberService.getAllMembers();
-        
-        if (type != null && !type.isEmpty()) {
-            members = members.stream()
-                    .filter(m -> m.getType().equalsIgnoreCase(type))
-                    .toList();
-        }
-        
+        List<MemberResponse> members = memberService.getAllMembers(type);
         return ResponseEntity.ok(members);
     }
     
+    @GetMapping("/search")
+    @Operation(summary = "Search members by type, specialization, offline flag, experience range and name/email text")
+    public ResponseEntity<PageResponse<MemberResponse>> searchMembers(
+            MemberSearchCriteria criteria,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        PageResponse<MemberResponse> page = memberService.searchMembers(criteria, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get member by ID")
     public ResponseEntity<MemberResponse> getMemberById(@PathVariable Long id) {
@@ -76,5 +107,19 @@ public class MemberController {
         memberService.deleteMember(id);
         return ResponseEntity.noContent().build();
     }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export all members as CSV, JSON or Excel, in a form the import endpoints accept")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        memberService.checkExportable(exportFormat);
+        StreamingResponseBody body = out -> memberService.exportMembers(exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("members." + exportFormat.extension()).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .body(body);
+    }
 }
 
@@ -0,0 +1,69 @@
+package com.vibeworks.planning.controller;
+
+import com.vibeworks.planning.dto.CreateUploadRequest;
+import com.vibeworks.planning.dto.ImportJobResponse;
+import com.vibeworks.planning.dto.UploadResponse;
+import com.vibeworks.planning.importer.ImportOptions;
+import com.vibeworks.planning.service.UploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = "*")
+@Tag(name = "Uploads", description = "Resumable import file uploads API")
+public class UploadController {
+    
+    @Autowired
+    private UploadService uploadService;
+    
+    @PostMapping
+    @Operation(summary = "Start a resumable upload of a member or event import file")
+    public ResponseEntity<UploadResponse> createUpload(@Valid @RequestBody CreateUploadRequest request) {
+        UploadResponse upload = uploadService.createUpload(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(upload);
+    }
+    
+    @PutMapping("/{uploadId}")
+    @Operation(summary = "Append a chunk (raw request body) at the given offset")
+    public ResponseEntity<UploadResponse> appendChunk(
+            @PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request) throws IOException {
+        UploadResponse upload = uploadService.appendChunk(uploadId, offset, request.getInputStream());
+        return ResponseEntity.ok(upload);
+    }
+    
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get the acknowledged offset of an upload, to resume after an interruption")
+    public ResponseEntity<UploadResponse> getUpload(@PathVariable String uploadId) {
+        UploadResponse upload = uploadService.getUpload(uploadId);
+        return ResponseEntity.ok(upload);
+    }
+    
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Finish an upload and import it in the background; poll /api/imports/{jobId} for progress")
+    public ResponseEntity<ImportJobResponse> completeUpload(
+            @PathVariable String uploadId,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "sheets", required = false) List<String> sheets) {
+        ImportJobResponse job = uploadService.completeUpload(uploadId, new ImportOptions(mode, sheets));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Cancel an upload and discard the received bytes")
+    public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId) {
+        uploadService.cancelUpload(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.vibeworks.planning.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class CreateUploadRequest {
+    @NotBlank(message = "Import type is required")
+    private String type; // "members" or "events"
+    
+    @NotBlank(message = "File name is required")
+    private String fileName; // extension picks the import format
+    
+    @PositiveOrZero(message = "Size must not be negative")
+    private Long size; // total bytes, if known up front
+}
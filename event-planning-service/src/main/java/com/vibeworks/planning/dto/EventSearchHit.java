@@ -0,0 +1,18 @@
+package com.vibeworks.planning.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * An event matching a search, listed like a {@link WizardSummary} with its relevance score.
+ * Name matches weigh more than info matches, which weigh more than task title matches.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class EventSearchHit extends WizardSummary {
+    private float rank;
+}
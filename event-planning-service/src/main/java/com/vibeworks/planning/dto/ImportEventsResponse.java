@@ -14,6 +14,16 @@ public class ImportEventsResponse {
     private int failed;
     private List<String> errors;
     private List<WizardDataResponse> importedEvents;
+    private int skipped; // unchanged since they were last imported
+    private boolean cached; // identical file imported earlier; this is that import's result
+    
+    public ImportEventsResponse(int totalProcessed, int successful, int failed, List<String> errors, List<WizardDataResponse> importedEvents) {
+        this.totalProcessed = totalProcessed;
+        this.successful = successful;
+        this.failed = failed;
+        this.errors = errors;
+        this.importedEvents = importedEvents;
+    }
     
     // Constructor without importedEvents for cases where we don't need to return them
     public ImportEventsResponse(int totalProcessed, int successful, int failed, List<String> errors) {
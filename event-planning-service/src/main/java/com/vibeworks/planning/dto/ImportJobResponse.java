@@ -0,0 +1,28 @@
+package com.vibeworks.planning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String jobId;
+    private String type; // members or events
+    private String fileName;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private int totalProcessed;
+    private int successful;
+    private int failed;
+    private int skipped;
+    private List<String> errors;
+    private String message;
+    private boolean cached;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
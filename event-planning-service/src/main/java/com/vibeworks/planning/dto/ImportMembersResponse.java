@@ -14,6 +14,8 @@ public class ImportMembersResponse {
     private int failed;
     private List<String> errors;
     private List<MemberResponse> importedMembers;
+    private int skipped; // unchanged since they were last imported
+    private boolean cached; // identical file imported earlier; this is that import's result
     
     public ImportMembersResponse(int totalProcessed, int successful, int failed, List<String> errors) {
         this.totalProcessed = totalProcessed;
@@ -0,0 +1,18 @@
+package com.vibeworks.planning.dto;
+
+import lombok.Data;
+
+/**
+ * Filters of a member search. Every filter that is set must match. {@code specializedIn} and
+ * {@code q} match anywhere in the text, case-insensitively; {@code q} looks at names and email.
+ * The experience bounds select members whose experience range overlaps them.
+ */
+@Data
+public class MemberSearchCriteria {
+    private String type;
+    private String specializedIn;
+    private Boolean offline;
+    private Double experienceMin;
+    private Double experienceMax;
+    private String q;
+}
@@ -0,0 +1,28 @@
+package com.vibeworks.planning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to get
+ * the following page; it is null on the last page. Listings that can filter also report the
+ * planner's estimate of the total number of matches, which is cheap but approximate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long estimatedTotal;
+    
+    public PageResponse(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vibeworks.planning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadResponse {
+    private String uploadId;
+    private String type; // members or events
+    private String fileName;
+    private Long size; // null when not declared
+    private long offset; // bytes received; the next chunk starts here
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,9 +1,16 @@
 package com.vibeworks.planning.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.vibeworks.planning.util.RawJsonDeserializer;
 import lombok.Data;
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * Wizard data as returned to clients. Tasks, assigned members and completed steps hold the stored
+ * JSON text and are written into the response verbatim, without being parsed; reading a response
+ * back, as the import file cache does, turns them into JSON text again.
+ */
 @Data
 public class WizardDataResponse {
     private Long id;
@@ -12,10 +19,17 @@ public class WizardDataResponse {
     private String startDate;
     private String endDate;
     private String eventDate;
-    private List<Object> tasks;
-    private List<Object> assignedMembers;
+    @JsonRawValue
+    @JsonDeserialize(using = RawJsonDeserializer.class)
+    private String tasks;
+    @JsonRawValue
+    @JsonDeserialize(using = RawJsonDeserializer.class)
+    private String assignedMembers;
     private Integer currentStep;
-    private List<Integer> completedSteps;
+    @JsonRawValue
+    @JsonDeserialize(using = RawJsonDeserializer.class)
+    private String completedSteps;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,20 @@
+package com.vibeworks.planning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a wizard patch. Only the new version is returned, so an autosave does not send the
+ * whole wizard document back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WizardPatchResponse {
+    private String eventName;
+    private Long version;
+    private LocalDateTime updatedAt;
+}
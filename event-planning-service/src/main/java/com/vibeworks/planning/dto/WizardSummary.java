@@ -0,0 +1,26 @@
+package com.vibeworks.planning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A wizard as listed on the dashboard: its dates and progress, with tasks and assigned members
+ * reduced to counts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WizardSummary {
+    private Long id;
+    private String eventName;
+    private String startDate;
+    private String endDate;
+    private String eventDate;
+    private Integer currentStep;
+    private int taskCount;
+    private int memberCount;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,76 @@
+package com.vibeworks.planning.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: fields holding a comma, quote or line break are quoted, with quotes doubled.
+ * Nulls are written as empty fields.
+ */
+class CsvExportWriter<E> implements ExportWriter<E> {
+    
+    private final List<ExportColumn<E>> columns;
+    private final Writer writer;
+    
+    CsvExportWriter(List<ExportColumn<E>> columns, OutputStream out) throws IOException {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        for (int i = 0; i < columns.size(); i++) {
+            writeField(i, columns.get(i).header());
+        }
+        writer.write("\r\n");
+    }
+    
+    @Override
+    public void write(E row) {
+        try {
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = columns.get(i).value().apply(row);
+                writeField(i, value != null ? value.toString() : "");
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void writeField(int index, String text) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (!needsQuotes(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+    
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,19 @@
+package com.vibeworks.planning.exporter;
+
+import java.util.function.Function;
+
+/**
+ * One exported property. {@code header} names the column in CSV and Excel files and
+ * {@code jsonKey} the property in JSON files; both are names the matching import schema maps back
+ * to the same field. A {@code rawJson} column holds JSON text, written as-is into JSON exports.
+ */
+public record ExportColumn<E>(String header, String jsonKey, Function<E, Object> value, boolean rawJson) {
+    
+    public static <E> ExportColumn<E> of(String header, String jsonKey, Function<E, Object> value) {
+        return new ExportColumn<>(header, jsonKey, value, false);
+    }
+    
+    public static <E> ExportColumn<E> json(String header, String jsonKey, Function<E, Object> value) {
+        return new ExportColumn<>(header, jsonKey, value, true);
+    }
+}
@@ -0,0 +1,57 @@
+package com.vibeworks.planning.exporter;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+
+import java.util.Locale;
+
+/**
+ * File formats an export can be written in. Each matches an import format, so an exported file
+ * can be uploaded again as-is. Excel caps the text of a cell at {@link #maxTextLength()}
+ * characters; the other formats take values of any length.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv", Integer.MAX_VALUE),
+    JSON("application/json", "json", Integer.MAX_VALUE),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx",
+            SpreadsheetVersion.EXCEL2007.getMaxTextLength());
+    
+    private final String contentType;
+    private final String extension;
+    private final int maxTextLength;
+    
+    ExportFormat(String contentType, String extension, int maxTextLength) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.maxTextLength = maxTextLength;
+    }
+    
+    public String contentType() {
+        return contentType;
+    }
+    
+    public String extension() {
+        return extension;
+    }
+    
+    /**
+     * The longest text a single value may have in this format.
+     */
+    public int maxTextLength() {
+        return maxTextLength;
+    }
+    
+    public boolean limitsTextLength() {
+        return maxTextLength < Integer.MAX_VALUE;
+    }
+    
+    public static ExportFormat of(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format + ". Use csv, json or xlsx.");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.vibeworks.planning.exporter;
+
+import java.io.Closeable;
+
+/**
+ * Writes exported rows one at a time. {@link #close()} finishes the file but leaves the
+ * underlying stream open.
+ */
+public interface ExportWriter<E> extends Closeable {
+    
+    /**
+     * Writes one row. I/O failures are rethrown as {@link java.io.UncheckedIOException} so rows
+     * can be written from a stream pipeline.
+     */
+    void write(E row);
+}
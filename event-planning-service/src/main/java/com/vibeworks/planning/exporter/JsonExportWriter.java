@@ -0,0 +1,57 @@
+package com.vibeworks.planning.exporter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * A top-level JSON array with one object per row, keyed by {@link ExportColumn#jsonKey()}.
+ * Numbers and booleans keep their JSON types; other values, timestamps included, are written as
+ * their {@code toString()} text, the same as in CSV exports.
+ */
+class JsonExportWriter<E> implements ExportWriter<E> {
+    
+    private final List<ExportColumn<E>> columns;
+    private final JsonGenerator generator;
+    
+    JsonExportWriter(List<ExportColumn<E>> columns, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.columns = columns;
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+    }
+    
+    @Override
+    public void write(E row) {
+        try {
+            generator.writeStartObject();
+            for (ExportColumn<E> column : columns) {
+                Object value = column.value().apply(row);
+                generator.writeFieldName(column.jsonKey());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (column.rawJson()) {
+                    generator.writeRawValue(value.toString());
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    generator.writeObject(value);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.vibeworks.planning.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Opens {@link ExportWriter}s that write rows straight to an output stream as they are handed
+ * over, so an export never holds more than a row (or, for Excel, a small window of rows) in memory.
+ */
+@Component
+public class TableExporter {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Starts an export and writes its header. {@code sheetName} names the worksheet of Excel exports.
+     */
+    public <E> ExportWriter<E> open(ExportFormat format, List<ExportColumn<E>> columns, String sheetName,
+                                    OutputStream out) throws IOException {
+        switch (format) {
+            case JSON:
+                return new JsonExportWriter<>(columns, objectMapper, out);
+            case XLSX:
+                return new XlsxExportWriter<>(columns, sheetName, out);
+            default:
+                return new CsvExportWriter<>(columns, out);
+        }
+    }
+}
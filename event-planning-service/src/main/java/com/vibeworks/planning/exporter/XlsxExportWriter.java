@@ -0,0 +1,94 @@
+package com.vibeworks.planning.exporter;
+
+import com.vibeworks.planning.util.exceptions.ExportValueTooLongException;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A single-sheet workbook written with POI's streaming {@link SXSSFWorkbook}: only a small window
+ * of rows is kept in memory and the rest are flushed to a temp file until the workbook is written
+ * out on {@link #close()}. Numbers are written as numeric cells and everything else as text.
+ * Rows past Excel's sheet limit continue on further sheets, each with its own header row; the
+ * importer reads every sheet of a workbook, so the file still imports as one.
+ *
+ * <p>A cell holds at most {@link ExportFormat#maxTextLength()} characters, and values are never
+ * cut, since a truncated JSON document would not import again. Services check for longer values
+ * before an export starts; one that still turns up fails the export with an
+ * {@link ExportValueTooLongException}, and the workbook is then discarded rather than written
+ * out without the remaining rows.
+ */
+class XlsxExportWriter<E> implements ExportWriter<E> {
+    
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_TEXT_LENGTH = ExportFormat.XLSX.maxTextLength();
+    
+    private final List<ExportColumn<E>> columns;
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    private final String sheetName;
+    private Sheet sheet;
+    private int rowIndex;
+    private long rowsWritten;
+    private boolean failed;
+    
+    XlsxExportWriter(List<ExportColumn<E>> columns, String sheetName, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+        this.sheetName = sheetName;
+        startSheet();
+    }
+    
+    private void startSheet() {
+        int sheetCount = workbook.getNumberOfSheets();
+        sheet = workbook.createSheet(sheetCount == 0 ? sheetName : sheetName + " " + (sheetCount + 1));
+        rowIndex = 0;
+        
+        Row header = sheet.createRow(rowIndex++);
+        for (int i = 0; i < columns.size(); i++) {
+            header.createCell(i).setCellValue(columns.get(i).header());
+        }
+    }
+    
+    @Override
+    public void write(E row) {
+        if (rowIndex == MAX_ROWS) {
+            startSheet();
+        }
+        Row sheetRow = sheet.createRow(rowIndex++);
+        rowsWritten++;
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = columns.get(i).value().apply(row);
+            if (value instanceof Number number) {
+                sheetRow.createCell(i).setCellValue(number.doubleValue());
+            } else if (value != null) {
+                String text = value.toString();
+                if (text.length() > MAX_TEXT_LENGTH) {
+                    failed = true;
+                    throw new ExportValueTooLongException(String.format(
+                            "%s of row %d has %d characters, more than the %d an Excel cell holds",
+                            columns.get(i).header(), rowsWritten, text.length(), MAX_TEXT_LENGTH));
+                }
+                sheetRow.createCell(i).setCellValue(text);
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!failed) {
+                workbook.write(out);
+                out.flush();
+            }
+        } finally {
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.vibeworks.planning.importer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A header row resolved once into column index -> field setter, so data rows bind straight into
+ * the target object without re-normalizing headers or going through a per-row map.
+ */
+public final class BindingPlan<T> {
+    
+    private final ImportSchema<T> schema;
+    private final int[] columns;
+    private final List<ImportField<T>> fields;
+    
+    private BindingPlan(ImportSchema<T> schema, int[] columns, List<ImportField<T>> fields) {
+        this.schema = schema;
+        this.columns = columns;
+        this.fields = fields;
+    }
+    
+    public static <T> BindingPlan<T> compile(ImportSchema<T> schema, TabularRow header) {
+        Map<String, ImportField<T>> fieldsByName = new HashMap<>();
+        for (ImportField<T> field : schema.fields()) {
+            fieldsByName.put(field.name(), field);
+        }
+        
+        List<Integer> columns = new ArrayList<>();
+        List<ImportField<T>> fields = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            ImportField<T> field = fieldsByName.get(schema.fieldForHeader(header.cell(i).toString().trim()));
+            if (field != null) {
+                columns.add(i);
+                fields.add(field);
+            }
+        }
+        
+        return new BindingPlan<>(schema, columns.stream().mapToInt(Integer::intValue).toArray(), fields);
+    }
+    
+    /**
+     * Binds the mapped, non-blank cells of a data row. When two columns map to the same field the
+     * later non-blank one wins. Returns null when the row has no mapped data. Only the cells that
+     * are bound are turned into strings.
+     */
+    public T bind(TabularRow row) {
+        String[] values = capture(row);
+        return values == null ? null : apply(values);
+    }
+    
+    /**
+     * Copies the mapped cells of a row out of the reader's reusable buffers, trimmed, with blank
+     * cells as null. Returns null when the row has no mapped data. The result can be handed to
+     * {@link #apply} on another thread.
+     */
+    public String[] capture(TabularRow row) {
+        String[] values = null;
+        for (int i = 0; i < columns.length; i++) {
+            int column = columns[i];
+            if (column >= row.size()) {
+                break;
+            }
+            
+            String value = trimmed(row.cell(column));
+            if (value != null) {
+                if (values == null) {
+                    values = new String[columns.length];
+                }
+                values[i] = value;
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Runs the field setters over values produced by {@link #capture}.
+     */
+    public T apply(String[] values) {
+        T target = schema.newTarget();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                fields.get(i).setter().accept(target, values[i]);
+            }
+        }
+        return target;
+    }
+    
+    /**
+     * Same as {@code toString().trim()}, but returns null for blank cells without allocating.
+     */
+    private static String trimmed(CharSequence cell) {
+        int start = 0;
+        int end = cell.length();
+        while (start < end && cell.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && cell.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return start == end ? null : cell.subSequence(start, end).toString();
+    }
+    
+    /**
+     * Binds a JSON record: each field takes the first of its keys that is present and non-null.
+     */
+    public static <T> T bindRecord(ImportSchema<T> schema, Map<String, Object> record) {
+        T target = schema.newTarget();
+        for (ImportField<T> field : schema.fields()) {
+            for (String key : field.jsonKeys()) {
+                Object value = record.get(key);
+                if (value != null) {
+                    field.setter().accept(target, value);
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,12 @@
+package com.vibeworks.planning.importer;
+
+import java.util.List;
+
+/**
+ * Persists one chunk of valid rows. Called inside a transaction that commits when it returns;
+ * must return one result per row, in the same order.
+ */
+@FunctionalInterface
+public interface ChunkWriter<T, R> {
+    List<RowResult<R>> write(List<ImportRow<T>> rows);
+}
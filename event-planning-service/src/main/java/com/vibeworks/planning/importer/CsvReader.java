@@ -0,0 +1,34 @@
+package com.vibeworks.planning.importer;
+
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a CSV upload record by record with {@link CsvTokenizer}. The first record is the header;
+ * blank lines are skipped.
+ */
+@Component
+public class CsvReader {
+    
+    public void read(InputStream is, TabularRowHandler handler) throws Exception {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            
+            if (!tokenizer.next()) {
+                throw new RuntimeException("CSV file is empty");
+            }
+            
+            int rowIndex = 0;
+            handler.onRow(rowIndex, tokenizer);
+            
+            while (tokenizer.next()) {
+                rowIndex++;
+                if (tokenizer.isBlankLine()) continue;
+                
+                handler.onRow(rowIndex, tokenizer);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.vibeworks.planning.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV tokenizer over a reusable char buffer. Quoted fields may contain commas, line
+ * breaks and doubled quotes; CRLF, LF and CR all end a record. Like the line parser it replaces,
+ * a quote anywhere in a field toggles quoting. A UTF-8 byte order mark at the start of the input,
+ * as spreadsheet tools write it, is skipped so it does not end up in the first header.
+ *
+ * <p>The tokenizer is itself the current {@link TabularRow}: unescaped field text is collected
+ * into one record buffer and exposed through reused {@link CharSequence} views, so reading a
+ * record allocates nothing once the buffers have grown to fit. Views are invalidated by
+ * {@link #next()}.
+ */
+public final class CsvTokenizer implements TabularRow, Closeable {
+    
+    private static final int EOF = -1;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int position = 0;
+    private int limit = 0;
+    private boolean started = false;
+    
+    private char[] record = new char[1024];
+    private int recordLength = 0;
+    private int[] fieldEnds = new int[32];
+    private int fieldCount = 0;
+    private final List<Field> views = new ArrayList<>();
+    
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * Advances to the next record. Returns false at end of input.
+     */
+    public boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        
+        if (position >= limit && !fill()) {
+            return false;
+        }
+        
+        boolean inQuotes = false;
+        while (true) {
+            if (position >= limit && !fill()) {
+                // End of input, possibly inside an unterminated quote: keep what we have
+                endField();
+                return true;
+            }
+            
+            // Copy the run of ordinary characters in one go, then handle the delimiter
+            int start = position;
+            int p = position;
+            if (inQuotes) {
+                while (p < limit && buffer[p] != '"') {
+                    p++;
+                }
+            } else {
+                while (p < limit) {
+                    char c = buffer[p];
+                    if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                        break;
+                    }
+                    p++;
+                }
+            }
+            append(buffer, start, p - start);
+            position = p;
+            if (p == limit) {
+                continue;
+            }
+            
+            char c = buffer[position++];
+            if (inQuotes) {
+                if (peek() == '"') {
+                    position++;
+                    append('"');
+                } else {
+                    inQuotes = false;
+                }
+                continue;
+            }
+            
+            switch (c) {
+                case ',':
+                    endField();
+                    break;
+                case '"':
+                    inQuotes = true;
+                    break;
+                case '\r':
+                    if (peek() == '\n') {
+                        position++;
+                    }
+                    endField();
+                    return true;
+                default:
+                    endField();
+                    return true;
+            }
+        }
+    }
+    
+    /**
+     * True when the current record is an empty or whitespace-only line.
+     */
+    public boolean isBlankLine() {
+        if (fieldCount != 1) {
+            return false;
+        }
+        for (int i = 0; i < recordLength; i++) {
+            if (record[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int size() {
+        return fieldCount;
+    }
+    
+    @Override
+    public CharSequence cell(int column) {
+        if (column >= fieldCount) {
+            throw new IndexOutOfBoundsException("Column " + column + " of " + fieldCount);
+        }
+        return views.get(column);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+    
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        if (!started) {
+            started = true;
+            if (buffer[0] == BYTE_ORDER_MARK) {
+                position = 1;
+                return position < limit || fill();
+            }
+        }
+        return true;
+    }
+    
+    private void append(char[] chars, int offset, int length) {
+        if (recordLength + length > record.length) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + length));
+        }
+        System.arraycopy(chars, offset, record, recordLength, length);
+        recordLength += length;
+    }
+    
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+    
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount] = recordLength;
+        if (fieldCount == views.size()) {
+            views.add(new Field(fieldCount));
+        }
+        fieldCount++;
+    }
+    
+    /**
+     * Live view of one field of the current record.
+     */
+    private final class Field implements CharSequence {
+        private final int index;
+        
+        Field(int index) {
+            this.index = index;
+        }
+        
+        private int start() {
+            return index == 0 ? 0 : fieldEnds[index - 1];
+        }
+        
+        @Override
+        public int length() {
+            return fieldEnds[index] - start();
+        }
+        
+        @Override
+        public char charAt(int i) {
+            return record[start() + i];
+        }
+        
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(record, start() + from, to - from);
+        }
+        
+        @Override
+        public String toString() {
+            return new String(record, start(), length());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.vibeworks.planning.importer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibeworks.planning.dto.CreateEventRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class EventImportSchema implements ImportSchema<CreateEventRequest> {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final List<ImportField<CreateEventRequest>> fields = List.of(
+        ImportField.text(CreateEventRequest::setEventName, "eventName", "event_name", "Event Name", "name"),
+        ImportField.text(CreateEventRequest::setEventInfo, "eventInfo", "event_info", "Event Info", "info", "description"),
+        ImportField.text(CreateEventRequest::setStartDate, "startDate", "start_date", "Start Date"),
+        ImportField.text(CreateEventRequest::setEndDate, "endDate", "end_date", "End Date"),
+        ImportField.text(CreateEventRequest::setEventDate, "eventDate", "event_date", "Event Date"),
+        ImportField.text(CreateEventRequest::setStatus, "status", "Status"),
+        // Tasks and members can be a JSON string (CSV/Excel) or an array (JSON)
+        ImportField.of((request, value) -> request.setTasks(toList(value)), "tasks"),
+        ImportField.of((request, value) -> request.setAssignedMembers(toList(value)), "assignedMembers"),
+        ImportField.of(EventImportSchema::setCurrentStep, "currentStep"),
+        ImportField.of((request, value) -> request.setCompletedSteps(toIntList(value)), "completedSteps")
+    );
+    
+    @Override
+    public String name() {
+        return "events";
+    }
+    
+    @Override
+    public CreateEventRequest newTarget() {
+        return new CreateEventRequest();
+    }
+    
+    @Override
+    public List<ImportField<CreateEventRequest>> fields() {
+        return fields;
+    }
+    
+    @Override
+    public String fieldForHeader(String header) {
+        String lower = header.toLowerCase().trim();
+        
+        if (lower.contains("event") && lower.contains("name")) return "eventName";
+        if (lower.contains("event") && lower.contains("info")) return "eventInfo";
+        if (lower.contains("start") && lower.contains("date")) return "startDate";
+        if (lower.contains("end") && lower.contains("date")) return "endDate";
+        if (lower.contains("event") && lower.contains("date") && !lower.contains("start") && !lower.contains("end")) return "eventDate";
+        if (lower.contains("status")) return "status";
+        if (lower.contains("task")) return "tasks";
+        if (lower.contains("assigned") || lower.contains("member")) return "assignedMembers";
+        if (lower.contains("step")) return "currentStep";
+        if (lower.contains("completed")) return "completedSteps";
+        
+        return "";
+    }
+    
+    @Override
+    public CreateEventRequest complete(CreateEventRequest request) {
+        if (request.getCurrentStep() == null) {
+            request.setCurrentStep(1);
+        }
+        
+        // Validate required fields
+        if (request.getEventName() == null || request.getEventName().trim().isEmpty()) {
+            throw new RuntimeException("Event name is required");
+        }
+        
+        return request;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Object> toList(Object value) {
+        if (value instanceof List) {
+            return (List<Object>) value;
+        }
+        try {
+            return objectMapper.readValue(value.toString(), new TypeReference<List<Object>>() {});
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Integer> toIntList(Object value) {
+        if (value instanceof List) {
+            return (List<Integer>) value;
+        }
+        try {
+            return objectMapper.readValue(value.toString(), new TypeReference<List<Integer>>() {});
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+    
+    private static void setCurrentStep(CreateEventRequest request, Object value) {
+        if (value instanceof Number) {
+            request.setCurrentStep(((Number) value).intValue());
+        } else {
+            try {
+                request.setCurrentStep(Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                request.setCurrentStep(1);
+            }
+        }
+    }
+}
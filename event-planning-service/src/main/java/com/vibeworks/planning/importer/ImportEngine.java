@@ -0,0 +1,615 @@
+package com.vibeworks.planning.importer;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibeworks.planning.importer.SpreadsheetReader.Worksheet;
+import com.vibeworks.planning.repository.ImportHashRepository;
+import com.vibeworks.planning.repository.ImportHashRepository.RowHash;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Shared import pipeline for members and events: picks a reader by file extension, binds each row
+ * through the schema, drops rows whose {@link UniqueKey} repeats an earlier row or a stored
+ * record, and hands the remaining valid rows to the {@link ChunkWriter} in chunks of
+ * {@code import.chunk-size}, each committed in its own transaction. Errors are reported in row
+ * order as "Row n: message".
+ * <p>
+ * Parsing, binding and persistence run as three concurrent stages. The reader thread parses and
+ * copies each row's cells, binding fans out over a pool of {@code import.pipeline.parallelism}
+ * threads, and a writer collects the bound rows in input order and writes the chunks. Writers run
+ * on a pool of {@code import.pipeline.writer-threads}, which caps the database connections
+ * imports hold at once; a pipeline whose writer has to wait for the pool just fills its queue. At
+ * most {@code import.pipeline.queue-capacity} rows are in flight per import; the reader blocks
+ * when the writer falls behind. Every sheet of a workbook, or only the requested ones,
+ * goes through its own pipeline; {@code .xlsx} sheets run concurrently.
+ * <p>
+ * Uploads are hashed before parsing. An identical file imported within
+ * {@code import.dedupe.file-cache-hours} returns the stored result without being read again;
+ * results are only stored when every chunk was written, so a file hit by a database error can be
+ * retried. Each row also carries a hash of its bound content; rows matching the hash recorded
+ * when their key was last imported are counted as skipped rather than reported as duplicates,
+ * unless the key already came up earlier in the same import. Writes made outside imports call
+ * {@link #forgetRows}, so an edited or deleted record is never taken as unchanged and no stored
+ * file result outlives it.
+ */
+@Component
+@Slf4j
+public class ImportEngine {
+    
+    @Autowired
+    private CsvReader csvReader;
+    
+    @Autowired
+    private SpreadsheetReader spreadsheetReader;
+    
+    @Autowired
+    private JsonRecordReader jsonRecordReader;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${import.mode:batch}")
+    private String defaultMode;
+    
+    @Value("${import.pipeline.parallelism:0}")
+    private int parallelism;
+    
+    @Value("${import.pipeline.writer-threads:4}")
+    private int writerThreads;
+    
+    @Value("${import.pipeline.queue-capacity:2000}")
+    private int queueCapacity;
+    
+    @Value("${import.sheets.parallelism:4}")
+    private int sheetParallelism;
+    
+    @Value("${import.dedupe.file-cache-hours:24}")
+    private long fileCacheHours;
+    
+    @Autowired
+    private ImportHashRepository importHashRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ThreadPoolTaskExecutor bindingExecutor;
+    private ThreadPoolTaskExecutor sheetExecutor;
+    private ThreadPoolTaskExecutor writerExecutor;
+    
+    @PostConstruct
+    void startExecutors() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        bindingExecutor = new ThreadPoolTaskExecutor();
+        bindingExecutor.setCorePoolSize(threads);
+        bindingExecutor.setMaxPoolSize(threads);
+        bindingExecutor.setThreadNamePrefix("import-bind-");
+        bindingExecutor.initialize();
+        
+        sheetExecutor = new ThreadPoolTaskExecutor();
+        sheetExecutor.setCorePoolSize(sheetParallelism);
+        sheetExecutor.setMaxPoolSize(sheetParallelism);
+        sheetExecutor.setThreadNamePrefix("import-sheet-");
+        sheetExecutor.initialize();
+        
+        writerExecutor = new ThreadPoolTaskExecutor();
+        writerExecutor.setCorePoolSize(writerThreads);
+        writerExecutor.setMaxPoolSize(writerThreads);
+        writerExecutor.setThreadNamePrefix("import-write-");
+        writerExecutor.initialize();
+    }
+    
+    @PreDestroy
+    void stopExecutors() {
+        bindingExecutor.shutdown();
+        sheetExecutor.shutdown();
+        writerExecutor.shutdown();
+    }
+    
+    /**
+     * Resolves the requested write mode, falling back to {@code import.mode} when none is given.
+     */
+    public ImportMode resolveMode(String mode) {
+        return ImportMode.fromString(mode != null && !mode.isBlank() ? mode : defaultMode);
+    }
+    
+    /**
+     * Forgets what imports recorded about records written outside an import, by their unique
+     * keys: a re-imported row with one of these keys is checked as a duplicate again instead of
+     * being skipped as unchanged, and identical files are imported again rather than answered
+     * with a stored result. Runs in the caller's transaction.
+     */
+    public void forgetRows(ImportSchema<?> schema, Collection<String> rowKeys) {
+        importHashRepository.deleteRowsAndFileResults(schema.name(), rowKeys);
+    }
+    
+    public <T, R> ImportResult<R> run(ImportSource source, ImportSchema<T> schema, UniqueKey<T> uniqueKey,
+                                      ChunkWriter<T, R> writer, Class<R> importedType) throws Exception {
+        return run(source, schema, uniqueKey, writer, importedType, new ImportResult<>(), ImportOptions.defaults());
+    }
+    
+    /**
+     * Runs the import, recording progress into {@code result} as each row is read and each chunk
+     * is committed, so other threads can poll it while the import runs. {@code importedType} is
+     * what the writer returns, needed to read back a stored result.
+     */
+    public <T, R> ImportResult<R> run(ImportSource source, ImportSchema<T> schema, UniqueKey<T> uniqueKey,
+                                      ChunkWriter<T, R> writer, Class<R> importedType, ImportResult<R> result,
+                                      ImportOptions options) throws Exception {
+        String fileName = source.getFileName();
+        if (fileName == null) {
+            throw new RuntimeException("File name is required");
+        }
+        
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+        String fileHash = null;
+        if (fileCacheHours > 0) {
+            fileHash = hashFile(source, options.sheets());
+            Optional<String> stored = importHashRepository.findFileResult(schema.name(), fileHash,
+                    LocalDateTime.now().minusHours(fileCacheHours));
+            if (stored.isPresent()) {
+                JavaType summaryType = objectMapper.getTypeFactory()
+                        .constructParametricType(ImportResult.Summary.class, importedType);
+                ImportResult.Summary<R> summary = objectMapper.readValue(stored.get(), summaryType);
+                if (result.canRestore(summary)) {
+                    log.info("File {} matches an earlier {} import, returning its result", fileName, schema.name());
+                    result.restore(summary);
+                    return result;
+                }
+            }
+        }
+        
+        ImportTarget<T, R> target = new ImportTarget<>(schema.name(), UUID.randomUUID(), uniqueKey, writer, result,
+                new Object(), new AtomicBoolean());
+        
+        try (InputStream is = source.openStream()) {
+            switch (extension) {
+                case "json": {
+                    ChunkedImport<T, R> chunkedImport = new ChunkedImport<>(target, 0, null);
+                    feed(chunkedImport, () -> jsonRecordReader.read(is, record ->
+                            chunkedImport.accept(() -> schema.complete(BindingPlan.bindRecord(schema, record)))));
+                    break;
+                }
+                case "csv": {
+                    ChunkedImport<T, R> chunkedImport = new ChunkedImport<>(target, 0, null);
+                    feed(chunkedImport, () -> csvReader.read(is, new TabularImport<>(schema, chunkedImport)));
+                    break;
+                }
+                case "xlsx":
+                case "xls":
+                    spreadsheetReader.read(is, extension, sheets ->
+                            importWorkbook(target, schema, selectSheets(sheets, options.sheets()), extension.equals("xlsx")));
+                    break;
+                default:
+                    throw new RuntimeException("Unsupported file format: " + extension + ". Supported formats: JSON, CSV, Excel");
+            }
+        }
+        
+        // A chunk that failed to write would fail the same way on every replay; leave it to a retry
+        if (fileHash != null && !target.writeFailed().get()) {
+            importHashRepository.saveFileResult(schema.name(), fileHash, fileName,
+                    objectMapper.writeValueAsString(result.summary()));
+        }
+        return result;
+    }
+    
+    /**
+     * Runs a parse that feeds {@code chunkedImport}, then waits for its last chunk to be written.
+     */
+    private static <T, R> void feed(ChunkedImport<T, R> chunkedImport, Parse parse) throws Exception {
+        boolean parsed = false;
+        try {
+            parse.run();
+            parsed = true;
+        } finally {
+            // Rows after a parse failure are not written, matching a failed sequential read
+            chunkedImport.finish(parsed);
+        }
+    }
+    
+    /**
+     * Imports each sheet through its own pipeline, with its own header row. {@code .xlsx} sheets
+     * are parsed concurrently on the {@code import.sheets.parallelism} pool; chunk writes still
+     * take turns. Fails if no sheet has a header and a data row.
+     */
+    private <T, R> void importWorkbook(ImportTarget<T, R> target, ImportSchema<T> schema,
+                                       List<Worksheet> sheets, boolean concurrent) throws Exception {
+        boolean qualify = sheets.size() > 1;
+        List<Future<Boolean>> sheetResults = new ArrayList<>();
+        for (int i = 0; i < sheets.size(); i++) {
+            Worksheet sheet = sheets.get(i);
+            int section = i;
+            Callable<Boolean> task = () -> importSheet(target, schema, sheet, section, qualify ? sheet.name() : null);
+            sheetResults.add(concurrent ? sheetExecutor.submit(task) : CompletableFuture.completedFuture(task.call()));
+        }
+        
+        boolean hasData = false;
+        Exception failure = null;
+        for (Future<Boolean> sheetResult : sheetResults) {
+            try {
+                hasData |= sheetResult.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (!hasData) {
+            throw new RuntimeException("Excel file must have at least a header row and one data row");
+        }
+    }
+    
+    private <T, R> boolean importSheet(ImportTarget<T, R> target, ImportSchema<T> schema, Worksheet sheet,
+                                       int section, String sheetName) throws Exception {
+        ChunkedImport<T, R> chunkedImport = new ChunkedImport<>(target, section, sheetName);
+        TabularImport<T, R> sheetImport = new TabularImport<>(schema, chunkedImport);
+        feed(chunkedImport, () -> sheet.read(sheetImport));
+        return sheetImport.rowCount >= 2;
+    }
+    
+    /**
+     * The requested sheets in workbook order, matched case-insensitively; all sheets when none
+     * are requested.
+     */
+    private static List<Worksheet> selectSheets(List<Worksheet> sheets, List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return sheets;
+        }
+        
+        for (String name : names) {
+            if (sheets.stream().noneMatch(sheet -> sheet.name().equalsIgnoreCase(name.trim()))) {
+                String available = sheets.stream().map(Worksheet::name).collect(Collectors.joining(", "));
+                throw new RuntimeException("Sheet '" + name + "' not found. Available sheets: " + available);
+            }
+        }
+        return sheets.stream()
+                .filter(sheet -> names.stream().anyMatch(name -> sheet.name().equalsIgnoreCase(name.trim())))
+                .toList();
+    }
+    
+    /**
+     * Hashes the file content, plus the sheet selection since that changes the result.
+     */
+    private static String hashFile(ImportSource source, List<String> sheets) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream is = source.openStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        if (sheets != null && !sheets.isEmpty()) {
+            digest.update(("\nsheets:" + String.join(",", sheets).toLowerCase()).getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    @FunctionalInterface
+    private interface Parse {
+        void run() throws Exception;
+    }
+    
+    /**
+     * Where the rows of one import go; shared by the pipelines of a workbook's sheets.
+     * {@code importId} marks the row hashes this import wrote or matched; {@code writeFailed} is
+     * set when a chunk could not be written.
+     */
+    private record ImportTarget<T, R>(String importType, UUID importId, UniqueKey<T> uniqueKey,
+                                      ChunkWriter<T, R> writer, ImportResult<R> result, Object writeLock,
+                                      AtomicBoolean writeFailed) {
+    }
+    
+    /**
+     * Compiles a {@link BindingPlan} from the first row and binds every following row with it.
+     */
+    private static class TabularImport<T, R> implements TabularRowHandler {
+        private final ImportSchema<T> schema;
+        private final ChunkedImport<T, R> chunkedImport;
+        private BindingPlan<T> plan;
+        private int rowCount = 0;
+        
+        TabularImport(ImportSchema<T> schema, ChunkedImport<T, R> chunkedImport) {
+            this.schema = schema;
+            this.chunkedImport = chunkedImport;
+        }
+        
+        @Override
+        public void onRow(int rowIndex, TabularRow row) {
+            rowCount++;
+            if (plan == null) {
+                plan = BindingPlan.compile(schema, row);
+                return;
+            }
+            
+            // The row's cells are reused by the reader, so copy them out before handing off
+            String[] values = plan.capture(row);
+            if (values != null) {
+                BindingPlan<T> rowPlan = plan;
+                chunkedImport.accept(() -> schema.complete(rowPlan.apply(values)));
+            }
+        }
+    }
+    
+    /**
+     * Binds rows on the binding pool and writes them in chunks on the writer pool. Rows are queued
+     * as futures in input order, so the writer sees them in order however the binding work
+     * interleaves.
+     */
+    private class ChunkedImport<T, R> {
+        private final String importType;
+        private final UUID importId;
+        private final UniqueKey<T> uniqueKey;
+        private final ChunkWriter<T, R> writer;
+        private final ImportResult<R> result;
+        private final Object writeLock;
+        private final AtomicBoolean writeFailed;
+        private final int section;
+        private final String sheetName;
+        private final BlockingQueue<Future<ImportRow<T>>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        private final Future<ImportRow<T>> endOfInput = CompletableFuture.completedFuture(null);
+        private final Future<ImportRow<T>> abort = CompletableFuture.completedFuture(null);
+        private final Future<?> persistence;
+        private int rowCount = 0;
+        
+        /**
+         * {@code sheetName} qualifies error rows when a workbook has several sheets, null
+         * otherwise; {@code section} orders those errors by sheet.
+         */
+        ChunkedImport(ImportTarget<T, R> target, int section, String sheetName) {
+            this.importType = target.importType();
+            this.importId = target.importId();
+            this.uniqueKey = target.uniqueKey();
+            this.writer = target.writer();
+            this.result = target.result();
+            this.writeLock = target.writeLock();
+            this.writeFailed = target.writeFailed();
+            this.section = section;
+            this.sheetName = sheetName;
+            this.persistence = writerExecutor.submit(this::persist);
+        }
+        
+        /**
+         * Called on the reader thread. {@code binding} runs on the binding pool, so it must not
+         * touch reader state.
+         */
+        void accept(Supplier<T> binding) {
+            int rowNumber = ++rowCount;
+            result.recordProcessed();
+            enqueue(bindingExecutor.submit(() -> bind(rowNumber, binding)));
+        }
+        
+        /**
+         * Ends the input and waits for the writer. With {@code complete} false the trailing
+         * partial chunk is dropped instead of written.
+         */
+        void finish(boolean complete) throws Exception {
+            enqueue(complete ? endOfInput : abort);
+            try {
+                persistence.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        
+        private ImportRow<T> bind(int rowNumber, Supplier<T> binding) {
+            try {
+                T request = binding.get();
+                return new ImportRow<>(rowNumber, request, hashContent(request), null);
+            } catch (Exception e) {
+                log.error("Error processing row {}", rowNumber, e);
+                return new ImportRow<>(rowNumber, null, null, e.getMessage());
+            }
+        }
+        
+        private String hashContent(T request) throws Exception {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        }
+        
+        private void enqueue(Future<ImportRow<T>> row) {
+            try {
+                pending.put(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import interrupted", e);
+            }
+        }
+        
+        private Void persist() throws Exception {
+            List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+            try {
+                while (true) {
+                    Future<ImportRow<T>> next = pending.take();
+                    if (next == abort) {
+                        return null;
+                    }
+                    if (next == endOfInput) {
+                        flush(chunk);
+                        return null;
+                    }
+                    
+                    chunk.add(next.get());
+                    if (chunk.size() >= chunkSize) {
+                        flush(chunk);
+                        chunk.clear();
+                    }
+                }
+            } catch (Exception e) {
+                // Keep consuming so the reader never blocks on a full queue, then report the failure
+                drain();
+                throw e;
+            }
+        }
+        
+        private void drain() throws InterruptedException {
+            Future<ImportRow<T>> next;
+            do {
+                next = pending.take();
+            } while (next != endOfInput && next != abort);
+        }
+        
+        /**
+         * Settles the rows that need no write, with one key lookup and one hash lookup for the
+         * whole chunk. A row whose key repeats an earlier row of the file, or is already stored
+         * with different content, fails as a duplicate; one whose stored key still has the hash
+         * of this row's content is skipped. Earlier chunks are committed before this runs and
+         * mark the hashes of the keys they wrote or skipped with this import's id, so the
+         * lookups also recognize keys from earlier in the file.
+         */
+        private void screen(List<ImportRow<T>> rows, List<RowResult<R>> outcomes) {
+            Set<String> chunkKeys = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String key = outcomes.get(i) == null ? uniqueKey.extractor().apply(rows.get(i).request()) : null;
+                if (key != null) {
+                    chunkKeys.add(key);
+                }
+            }
+            if (chunkKeys.isEmpty()) {
+                return;
+            }
+            
+            Set<String> existingKeys = uniqueKey.findExisting().apply(chunkKeys);
+            Map<String, RowHash> storedHashes = importHashRepository.findRowHashes(importType, existingKeys);
+            Set<String> seenKeys = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow<T> row = rows.get(i);
+                String key = outcomes.get(i) == null ? uniqueKey.extractor().apply(row.request()) : null;
+                if (key == null) {
+                    continue;
+                }
+                
+                if (!seenKeys.add(key)) {
+                    outcomes.set(i, RowResult.failed(uniqueKey.duplicateMessage().apply(key)));
+                } else if (existingKeys.contains(key)) {
+                    RowHash stored = storedHashes.get(key);
+                    boolean unchanged = stored != null && !importId.equals(stored.importId())
+                            && row.contentHash().equals(stored.contentHash());
+                    outcomes.set(i, unchanged
+                            ? RowResult.unchanged()
+                            : RowResult.failed(uniqueKey.duplicateMessage().apply(key)));
+                }
+            }
+        }
+        
+        private void flush(List<ImportRow<T>> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            
+            List<RowResult<R>> outcomes = new ArrayList<>(rows.size());
+            for (ImportRow<T> row : rows) {
+                outcomes.add(row.error() != null ? RowResult.failed(row.error()) : null);
+            }
+            
+            try {
+                // Sheets of one workbook write through the same lock, so the duplicate screen
+                // of one chunk always sees the rows committed by the others
+                synchronized (writeLock) {
+                    screen(rows, outcomes);
+                    List<ImportRow<T>> toWrite = new ArrayList<>();
+                    List<String> unchangedKeys = new ArrayList<>();
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (outcomes.get(i) == null) {
+                            toWrite.add(rows.get(i));
+                        } else if (outcomes.get(i).skipped()) {
+                            unchangedKeys.add(uniqueKey.extractor().apply(rows.get(i).request()));
+                        }
+                    }
+                    
+                    if (!unchangedKeys.isEmpty()) {
+                        importHashRepository.markRows(importType, importId, unchangedKeys);
+                    }
+                    if (!toWrite.isEmpty()) {
+                        List<RowResult<R>> written = transactionTemplate.execute(status -> {
+                            List<RowResult<R>> chunkResults = writer.write(toWrite);
+                            saveRowHashes(toWrite, chunkResults);
+                            return chunkResults;
+                        });
+                        Iterator<RowResult<R>> results = written.iterator();
+                        for (int i = 0; i < rows.size(); i++) {
+                            if (outcomes.get(i) == null) {
+                                outcomes.set(i, results.next());
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Error writing chunk starting at row {}", rows.get(0).rowNumber(), e);
+                writeFailed.set(true);
+                for (int i = 0; i < rows.size(); i++) {
+                    if (outcomes.get(i) == null) {
+                        outcomes.set(i, RowResult.failed(e.getMessage()));
+                    }
+                }
+            }
+            
+            for (int i = 0; i < rows.size(); i++) {
+                RowResult<R> outcome = outcomes.get(i);
+                if (outcome.error() != null) {
+                    recordFailed(rows.get(i).rowNumber(), outcome.error());
+                } else if (outcome.skipped()) {
+                    result.recordSkipped();
+                } else {
+                    result.recordImported(outcome.imported());
+                }
+            }
+        }
+        
+        private void recordFailed(int rowNumber, String error) {
+            if (sheetName == null) {
+                result.recordFailed(rowNumber, error);
+            } else {
+                result.recordFailed(section, "Sheet '" + sheetName + "', Row " + rowNumber, error);
+            }
+        }
+        
+        private void saveRowHashes(List<ImportRow<T>> rows, List<RowResult<R>> results) {
+            Map<String, String> hashesByKey = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String key = uniqueKey.extractor().apply(rows.get(i).request());
+                if (key != null && results.get(i).error() == null) {
+                    hashesByKey.put(key, rows.get(i).contentHash());
+                }
+            }
+            importHashRepository.saveRowHashes(importType, importId, hashesByKey);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.vibeworks.planning.importer;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A target property an import can fill. {@code jsonKeys} are the record keys accepted for it in
+ * JSON files, in lookup order; the first key is also the name header normalization resolves to.
+ */
+public record ImportField<T>(String name, List<String> jsonKeys, BiConsumer<T, Object> setter) {
+    
+    public static <T> ImportField<T> of(BiConsumer<T, Object> setter, String... jsonKeys) {
+        return new ImportField<>(jsonKeys[0], List.of(jsonKeys), setter);
+    }
+    
+    /**
+     * A plain string property; values are rendered with {@code toString()} and trimmed.
+     */
+    public static <T> ImportField<T> text(BiConsumer<T, String> setter, String... jsonKeys) {
+        return of((target, value) -> setter.accept(target, value.toString().trim()), jsonKeys);
+    }
+}
@@ -0,0 +1,51 @@
+package com.vibeworks.planning.importer;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An import running in the background. Progress is read from the live {@link ImportResult}.
+ */
+@Getter
+public class ImportJob {
+    
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+    
+    private final String id;
+    private final String type;
+    private final String fileName;
+    private final ImportResult<?> result;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+    
+    public ImportJob(String id, String type, String fileName, ImportResult<?> result) {
+        this.id = id;
+        this.type = type;
+        this.fileName = fileName;
+        this.result = result;
+    }
+    
+    public void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+    
+    public void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+    
+    public void markFailed(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+    
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.vibeworks.planning.importer;
+
+import com.vibeworks.planning.util.exceptions.InvalidImportOptionsException;
+
+/**
+ * How validated import rows are written to the database.
+ */
+public enum ImportMode {
+    /** JDBC batch inserts (members) or JPA saves (events), per chunk. */
+    BATCH,
+    /** PostgreSQL COPY into a staging table, merged with one INSERT ... ON CONFLICT per chunk. */
+    COPY;
+    
+    public static ImportMode fromString(String value) {
+        try {
+            return ImportMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidImportOptionsException("Unsupported import mode: " + value + ". Supported modes: batch, copy");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vibeworks.planning.importer;
+
+import java.util.List;
+
+/**
+ * Per-request import settings. {@code mode} is "batch" or "copy", null for {@code import.mode};
+ * {@code sheets} names the workbook sheets to read, null or empty for all of them. An unsupported
+ * mode is rejected here, so a request fails before any import work is queued for it.
+ */
+public record ImportOptions(String mode, List<String> sheets) {
+    
+    public ImportOptions {
+        if (mode != null && !mode.isBlank()) {
+            ImportMode.fromString(mode);
+        }
+    }
+    
+    public static ImportOptions defaults() {
+        return new ImportOptions(null, null);
+    }
+}
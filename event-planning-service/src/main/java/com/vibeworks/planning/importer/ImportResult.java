@@ -0,0 +1,154 @@
+package com.vibeworks.planning.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of an import, in the shape of the import response DTOs. Updated by the
+ * importing thread and safe to read from others while the import is still running.
+ */
+public class ImportResult<R> {
+    private final boolean retainImported;
+    private final int maxErrors;
+    private int totalProcessed = 0;
+    private int successful = 0;
+    private int failed = 0;
+    private int skipped = 0;
+    private boolean cached = false;
+    private int keptErrors = 0;
+    private int omittedErrors = 0;
+    private final List<List<String>> errorSections = new ArrayList<>(List.of(new ArrayList<>()));
+    private final List<R> imported = new ArrayList<>();
+    
+    /**
+     * The part of a result kept for a repeated upload of the same file. {@code imported} is null
+     * when the result did not keep the imported entities.
+     */
+    public record Summary<R>(int totalProcessed, int successful, int failed, int skipped, List<String> errors,
+                             List<R> imported) {
+    }
+    
+    public ImportResult() {
+        this(true, Integer.MAX_VALUE);
+    }
+    
+    private ImportResult(boolean retainImported, int maxErrors) {
+        this.retainImported = retainImported;
+        this.maxErrors = maxErrors;
+    }
+    
+    /**
+     * A result that only keeps counts and the first {@code maxErrors} row errors, for imports too
+     * large to echo back. Further failures are still counted.
+     */
+    public static <R> ImportResult<R> countsOnly(int maxErrors) {
+        return new ImportResult<>(false, maxErrors);
+    }
+    
+    synchronized void recordProcessed() {
+        totalProcessed++;
+    }
+    
+    synchronized void recordImported(R entity) {
+        if (retainImported) {
+            imported.add(entity);
+        }
+        successful++;
+    }
+    
+    synchronized void recordFailed(int rowNumber, String error) {
+        recordFailed(0, "Row " + rowNumber, error);
+    }
+    
+    /**
+     * Records a failure under a section, such as a workbook sheet. Errors are listed section by
+     * section, so sheets imported concurrently still report in workbook order.
+     */
+    synchronized void recordFailed(int section, String rowLabel, String error) {
+        failed++;
+        if (keptErrors >= maxErrors) {
+            omittedErrors++;
+            return;
+        }
+        while (errorSections.size() <= section) {
+            errorSections.add(new ArrayList<>());
+        }
+        errorSections.get(section).add(rowLabel + ": " + error);
+        keptErrors++;
+    }
+    
+    synchronized void recordSkipped() {
+        skipped++;
+    }
+    
+    synchronized Summary<R> summary() {
+        return new Summary<>(totalProcessed, successful, failed, skipped, getErrors(),
+                retainImported ? new ArrayList<>(imported) : null);
+    }
+    
+    /**
+     * True when {@link #restore} can fill this result from the summary: a result that lists the
+     * imported entities needs a summary that kept them.
+     */
+    boolean canRestore(Summary<R> summary) {
+        return !retainImported || summary.imported() != null;
+    }
+    
+    /**
+     * Fills this result from the summary of an earlier import of the same file.
+     */
+    synchronized void restore(Summary<R> summary) {
+        totalProcessed = summary.totalProcessed();
+        successful = summary.successful();
+        failed = summary.failed();
+        skipped = summary.skipped();
+        errorSections.clear();
+        errorSections.add(new ArrayList<>(summary.errors()));
+        keptErrors = summary.errors().size();
+        omittedErrors = 0;
+        imported.clear();
+        if (retainImported) {
+            imported.addAll(summary.imported());
+        }
+        cached = true;
+    }
+    
+    public synchronized int getTotalProcessed() {
+        return totalProcessed;
+    }
+    
+    public synchronized int getSuccessful() {
+        return successful;
+    }
+    
+    public synchronized int getFailed() {
+        return failed;
+    }
+    
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+    
+    /**
+     * True when this is the stored result of an identical earlier upload. The imported entities
+     * are then the ones that import created, as they were at the time.
+     */
+    public synchronized boolean isCached() {
+        return cached;
+    }
+    
+    public synchronized List<String> getErrors() {
+        List<String> errors = new ArrayList<>();
+        for (List<String> section : errorSections) {
+            errors.addAll(section);
+        }
+        if (omittedErrors > 0) {
+            errors.add("... and " + omittedErrors + " more errors");
+        }
+        return errors;
+    }
+    
+    public synchronized List<R> getImported() {
+        return new ArrayList<>(imported);
+    }
+}
@@ -0,0 +1,8 @@
+package com.vibeworks.planning.importer;
+
+/**
+ * A parsed row: either a bound request, with a hash of its content, or the reason it could not
+ * be bound.
+ */
+public record ImportRow<T>(int rowNumber, T request, String contentHash, String error) {
+}
@@ -0,0 +1,30 @@
+package com.vibeworks.planning.importer;
+
+import java.util.List;
+
+/**
+ * Describes how rows of an import file map onto a request object.
+ */
+public interface ImportSchema<T> {
+    
+    /**
+     * Short name of what is imported ("members", "events"), used to key stored import hashes.
+     */
+    String name();
+    
+    T newTarget();
+    
+    List<ImportField<T>> fields();
+    
+    /**
+     * Resolves a header cell to one of the {@link #fields()} names, or "" when the column is not
+     * imported. Only called once per column when a {@link BindingPlan} is compiled.
+     */
+    String fieldForHeader(String header);
+    
+    /**
+     * Applies defaults and validates a bound target. Throws with a user-facing message when the
+     * row cannot be imported.
+     */
+    T complete(T target);
+}
@@ -0,0 +1,47 @@
+package com.vibeworks.planning.importer;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An uploaded file to import. The file name is used to pick the format.
+ */
+public interface ImportSource {
+    String getFileName();
+    
+    InputStream openStream() throws IOException;
+    
+    static ImportSource of(MultipartFile file) {
+        return new ImportSource() {
+            @Override
+            public String getFileName() {
+                return file.getOriginalFilename();
+            }
+            
+            @Override
+            public InputStream openStream() throws IOException {
+                return file.getInputStream();
+            }
+        };
+    }
+    
+    static ImportSource of(String fileName, Path path) {
+        return new ImportSource() {
+            @Override
+            public String getFileName() {
+                return fileName;
+            }
+            
+            @Override
+            public InputStream openStream() throws IOException {
+                return Channels.newInputStream(FileChannel.open(path, StandardOpenOption.READ));
+            }
+        };
+    }
+}
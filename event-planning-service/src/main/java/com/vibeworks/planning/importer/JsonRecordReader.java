@@ -0,0 +1,43 @@
+package com.vibeworks.planning.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Walks a top-level JSON array and hands each element to the consumer as soon as it has been
+ * parsed, so only one record is held in memory at a time.
+ */
+@Component
+public class JsonRecordReader {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public void read(InputStream is, Consumer<Map<String, Object>> recordConsumer) throws Exception {
+        ObjectReader recordReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {});
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(is)) {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                throw new RuntimeException("JSON file is empty");
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new RuntimeException("JSON file must contain an array of records");
+            }
+            
+            // Each element is read straight off the parser, leaving it on the element's last token
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                recordConsumer.accept(recordReader.readValue(parser));
+            }
+        }
+    }
+}
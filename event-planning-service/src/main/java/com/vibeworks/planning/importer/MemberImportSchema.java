@@ -0,0 +1,98 @@
+package com.vibeworks.planning.importer;
+
+import com.vibeworks.planning.dto.CreateMemberRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class MemberImportSchema implements ImportSchema<CreateMemberRequest> {
+    
+    private static final List<ImportField<CreateMemberRequest>> FIELDS = List.of(
+        ImportField.text(CreateMemberRequest::setType, "type", "memberType", "Type"),
+        ImportField.text(CreateMemberRequest::setFirstName, "firstName", "first_name", "First Name", "First"),
+        ImportField.text(CreateMemberRequest::setLastName, "lastName", "last_name", "Last Name", "Last"),
+        ImportField.text(CreateMemberRequest::setName, "name", "Name", "entityName", "Entity Name"),
+        ImportField.text(MemberImportSchema::setOffline, "offline", "Offline", "isOffline", "Is Offline"),
+        ImportField.text(CreateMemberRequest::setEmail, "email", "Email", "emailAddress"),
+        ImportField.text(CreateMemberRequest::setPhone, "phone", "Phone", "phoneNumber", "Phone Number"),
+        ImportField.text(CreateMemberRequest::setWhatsapp, "whatsapp", "WhatsApp", "Whats App", "whatsApp"),
+        ImportField.text(CreateMemberRequest::setSpecializedIn, "specializedIn", "specialized_in", "Specialized In", "specialization", "Specialization"),
+        ImportField.text(CreateMemberRequest::setExperience, "experience", "Experience", "experienceYears", "Experience Years"),
+        ImportField.text(CreateMemberRequest::setAddress, "address", "Address")
+    );
+    
+    @Override
+    public String name() {
+        return "members";
+    }
+    
+    @Override
+    public CreateMemberRequest newTarget() {
+        return new CreateMemberRequest();
+    }
+    
+    @Override
+    public List<ImportField<CreateMemberRequest>> fields() {
+        return FIELDS;
+    }
+    
+    @Override
+    public String fieldForHeader(String header) {
+        String lower = header.toLowerCase().trim();
+        
+        // Map various header name formats
+        if (lower.contains("type") || lower.equals("membertype")) return "type";
+        if (lower.contains("first") && lower.contains("name")) return "firstName";
+        if (lower.contains("last") && lower.contains("name")) return "lastName";
+        if (lower.equals("name") || lower.contains("entityname")) return "name";
+        if (lower.contains("email")) return "email";
+        if (lower.contains("phone") && !lower.contains("whatsapp")) return "phone";
+        if (lower.contains("whatsapp") || lower.contains("whats app")) return "whatsapp";
+        if (lower.contains("specialized") || lower.contains("specialization")) return "specializedIn";
+        if (lower.contains("experience")) return "experience";
+        if (lower.contains("address")) return "address";
+        if (lower.contains("offline") || lower.contains("isoffline")) return "offline";
+        
+        return "";
+    }
+    
+    @Override
+    public CreateMemberRequest complete(CreateMemberRequest request) {
+        // Determine type
+        String type = request.getType();
+        if (type == null || type.isEmpty()) {
+            // Infer type from data
+            if (request.getFirstName() != null) {
+                type = "person";
+            } else if (request.getName() != null) {
+                type = "entity";
+            } else {
+                throw new RuntimeException("Cannot determine member type. Provide 'type' field or firstName/name");
+            }
+        }
+        request.setType(type.toLowerCase());
+        
+        if ("person".equals(request.getType())) {
+            request.setName(null);
+            request.setOffline(false);
+        } else {
+            request.setFirstName(null);
+            request.setLastName(null);
+        }
+        
+        if (request.getEmail() == null || request.getEmail().isEmpty()) {
+            throw new RuntimeException("Email is required");
+        }
+        
+        return request;
+    }
+    
+    private static void setOffline(CreateMemberRequest request, String offlineStr) {
+        request.setOffline(
+            offlineStr.equalsIgnoreCase("true") ||
+            offlineStr.equalsIgnoreCase("yes") ||
+            offlineStr.equals("1")
+        );
+    }
+}
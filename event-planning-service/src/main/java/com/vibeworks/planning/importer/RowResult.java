@@ -0,0 +1,20 @@
+package com.vibeworks.planning.importer;
+
+/**
+ * What happened to one row: the imported entity, the reason it was rejected, or neither when it
+ * was skipped because it matches what an earlier import already stored.
+ */
+public record RowResult<R>(R imported, String error, boolean skipped) {
+    
+    public static <R> RowResult<R> imported(R imported) {
+        return new RowResult<>(imported, null, false);
+    }
+    
+    public static <R> RowResult<R> failed(String error) {
+        return new RowResult<>(null, error, false);
+    }
+    
+    public static <R> RowResult<R> unchanged() {
+        return new RowResult<>(null, null, true);
+    }
+}
@@ -0,0 +1,346 @@
+package com.vibeworks.planning.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the worksheets of an Excel upload row by row.
+ *
+ * <p>{@code .xlsx} files are read with POI's event model: the upload is spooled to a temp file
+ * and each sheet's XML is walked with SAX, so heap use is bounded by the shared strings table
+ * rather than by a full {@code XSSFWorkbook}. The shared strings and styles are read-only once
+ * loaded, so different sheets of the same file can be read on different threads. Legacy
+ * {@code .xls} files still go through {@link HSSFWorkbook} and are read one sheet at a time.
+ * Both paths render cells the same way.
+ */
+@Component
+@Slf4j
+public class SpreadsheetReader {
+    
+    /**
+     * One sheet of an open workbook.
+     */
+    public interface Worksheet {
+        String name();
+        
+        void read(TabularRowHandler handler) throws Exception;
+    }
+    
+    /**
+     * Receives the workbook's sheets, in workbook order, while the workbook is open.
+     */
+    @FunctionalInterface
+    public interface WorkbookHandler {
+        void onWorkbook(List<Worksheet> sheets) throws Exception;
+    }
+    
+    public void read(InputStream is, String extension, WorkbookHandler handler) throws Exception {
+        if (extension.equals("xlsx")) {
+            readXlsx(is, handler);
+        } else {
+            readXls(is, handler);
+        }
+    }
+    
+    private void readXlsx(InputStream is, WorkbookHandler handler) throws Exception {
+        Path tempFile = Files.createTempFile("import-", ".xlsx");
+        try {
+            Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+                boolean[] dateStyles = dateStyles(reader.getStylesTable());
+                boolean date1904 = isDate1904(reader);
+                
+                List<Worksheet> sheets = new ArrayList<>();
+                XSSFReader.SheetIterator parts = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (parts.hasNext()) {
+                    // Only the part is kept; each reader opens its own stream on it
+                    parts.next().close();
+                    String name = parts.getSheetName();
+                    PackagePart part = parts.getSheetPart();
+                    sheets.add(new XlsxWorksheet(name, part, sharedStrings, dateStyles, date1904));
+                }
+                handler.onWorkbook(sheets);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Flags, by style index, the cell styles that have a date format. Computed up front so sheet
+     * handlers on different threads never touch the styles table.
+     */
+    private static boolean[] dateStyles(StylesTable styles) {
+        boolean[] dateStyles = new boolean[styles.getNumCellStyles()];
+        for (int i = 0; i < dateStyles.length; i++) {
+            XSSFCellStyle style = styles.getStyleAt(i);
+            dateStyles[i] = style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+        return dateStyles;
+    }
+    
+    private record XlsxWorksheet(String name, PackagePart part, ReadOnlySharedStringsTable sharedStrings,
+                                 boolean[] dateStyles, boolean date1904) implements Worksheet {
+        @Override
+        public void read(TabularRowHandler handler) throws Exception {
+            try (InputStream sheet = part.getInputStream()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, dateStyles, date1904, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+    
+    private boolean isDate1904(XSSFReader reader) {
+        try (InputStream workbookData = reader.getWorkbookData()) {
+            CTWorkbookPr workbookPr = WorkbookDocument.Factory.parse(workbookData).getWorkbook().getWorkbookPr();
+            return workbookPr != null && workbookPr.getDate1904();
+        } catch (Exception e) {
+            log.warn("Could not read workbook properties, assuming 1900 date system", e);
+            return false;
+        }
+    }
+    
+    private void readXls(InputStream is, WorkbookHandler handler) throws Exception {
+        try (Workbook workbook = new HSSFWorkbook(is)) {
+            List<Worksheet> sheets = new ArrayList<>();
+            for (Sheet sheet : workbook) {
+                sheets.add(new XlsWorksheet(sheet));
+            }
+            handler.onWorkbook(sheets);
+        }
+    }
+    
+    private class XlsWorksheet implements Worksheet {
+        private final Sheet sheet;
+        
+        XlsWorksheet(Sheet sheet) {
+            this.sheet = sheet;
+        }
+        
+        @Override
+        public String name() {
+            return sheet.getSheetName();
+        }
+        
+        @Override
+        public void read(TabularRowHandler handler) {
+            for (Row row : sheet) {
+                List<String> cells = new ArrayList<>();
+                for (int j = 0; j < row.getLastCellNum(); j++) {
+                    cells.add(getCellValueAsString(row.getCell(j)));
+                }
+                handler.onRow(row.getRowNum(), TabularRow.of(cells));
+            }
+        }
+    }
+    
+    private String getCellValueAsString(Cell cell) {
+        if (cell == null) return "";
+        
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue().trim();
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return cell.getDateCellValue().toString();
+                } else {
+                    return formatNumber(cell.getNumericCellValue());
+                }
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                return cell.getCellFormula();
+            default:
+                return "";
+        }
+    }
+    
+    private static String formatNumber(double numValue) {
+        // Whole numbers are written without the trailing ".0"
+        if (numValue == (long) numValue) {
+            return String.valueOf((long) numValue);
+        } else {
+            return String.valueOf(numValue);
+        }
+    }
+    
+    /**
+     * SAX handler for a single worksheet part. Mirrors {@link #getCellValueAsString(Cell)}:
+     * formulas render as their formula text, numbers in a date format as {@code Date.toString()}.
+     */
+    private static class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final boolean[] dateStyles;
+        private final boolean date1904;
+        private final TabularRowHandler handler;
+        
+        private final List<String> cells = new ArrayList<>();
+        private final TabularRow row = TabularRow.of(cells);
+        private final StringBuilder text = new StringBuilder();
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder formula = new StringBuilder();
+        private int rowIndex;
+        private int columnIndex;
+        private String cellType;
+        private int styleIndex;
+        private boolean inValue;
+        private boolean inFormula;
+        private boolean inInlineText;
+        
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, boolean[] dateStyles, boolean date1904,
+                     TabularRowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.dateStyles = dateStyles;
+            this.date1904 = date1904;
+            this.handler = handler;
+        }
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    cells.clear();
+                    columnIndex = -1;
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    columnIndex = ref != null ? columnIndex(ref) : columnIndex + 1;
+                    cellType = attributes.getValue("t");
+                    String s = attributes.getValue("s");
+                    styleIndex = s != null ? Integer.parseInt(s) : 0;
+                    value.setLength(0);
+                    formula.setLength(0);
+                    text.setLength(0);
+                    break;
+                case "v":
+                    inValue = true;
+                    break;
+                case "f":
+                    inFormula = true;
+                    break;
+                case "t":
+                    inInlineText = "inlineStr".equals(cellType);
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                    inValue = false;
+                    break;
+                case "f":
+                    inFormula = false;
+                    break;
+                case "t":
+                    inInlineText = false;
+                    break;
+                case "c":
+                    while (cells.size() < columnIndex) {
+                        cells.add("");
+                    }
+                    cells.add(cellValue());
+                    break;
+                case "row":
+                    handler.onRow(rowIndex, row);
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            } else if (inFormula) {
+                formula.append(ch, start, length);
+            } else if (inInlineText) {
+                text.append(ch, start, length);
+            }
+        }
+        
+        private String cellValue() {
+            if (formula.length() > 0) {
+                return formula.toString();
+            }
+            
+            String type = cellType != null ? cellType : "n";
+            switch (type) {
+                case "s":
+                    if (value.length() == 0) return "";
+                    return sharedStrings.getItemAt(Integer.parseInt(value.toString().trim())).getString().trim();
+                case "inlineStr":
+                    return text.toString().trim();
+                case "str":
+                    return value.toString().trim();
+                case "b":
+                    return String.valueOf("1".equals(value.toString().trim()));
+                case "n":
+                    if (value.length() == 0) return "";
+                    double numValue = Double.parseDouble(value.toString());
+                    if (isDateFormatted(numValue)) {
+                        return DateUtil.getJavaDate(numValue, date1904).toString();
+                    }
+                    return formatNumber(numValue);
+                default:
+                    return "";
+            }
+        }
+        
+        private boolean isDateFormatted(double numValue) {
+            if (!DateUtil.isValidExcelDate(numValue)) {
+                return false;
+            }
+            return styleIndex < dateStyles.length && dateStyles[styleIndex];
+        }
+        
+        private static int columnIndex(String cellRef) {
+            int column = 0;
+            for (int i = 0; i < cellRef.length(); i++) {
+                char c = cellRef.charAt(i);
+                if (!Character.isLetter(c)) {
+                    break;
+                }
+                column = column * 26 + (Character.toUpperCase(c) - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.vibeworks.planning.importer;
+
+import java.util.List;
+
+/**
+ * A row of CSV or spreadsheet cells. Cells may be views over a reader's internal buffer, so
+ * they are only valid until the reader moves to the next row; call {@code toString()} on the
+ * ones you keep.
+ */
+public interface TabularRow {
+    
+    int size();
+    
+    CharSequence cell(int column);
+    
+    static TabularRow of(List<String> cells) {
+        return new TabularRow() {
+            @Override
+            public int size() {
+                return cells.size();
+            }
+            
+            @Override
+            public CharSequence cell(int column) {
+                return cells.get(column);
+            }
+        };
+    }
+}
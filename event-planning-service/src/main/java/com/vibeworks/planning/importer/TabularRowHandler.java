@@ -0,0 +1,10 @@
+package com.vibeworks.planning.importer;
+
+/**
+ * Receives CSV or spreadsheet rows one at a time. Blank cells are empty; the row is only valid
+ * for the duration of the call.
+ */
+@FunctionalInterface
+public interface TabularRowHandler {
+    void onRow(int rowIndex, TabularRow row);
+}
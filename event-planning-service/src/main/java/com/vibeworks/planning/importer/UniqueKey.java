@@ -0,0 +1,15 @@
+package com.vibeworks.planning.importer;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The value an import must not duplicate, such as a member's email. {@code findExisting} looks up
+ * which of a chunk's keys are already stored, in one query; {@code duplicateMessage} builds the
+ * row error for a duplicate key.
+ */
+public record UniqueKey<T>(Function<T, String> extractor,
+                           Function<Collection<String>, Set<String>> findExisting,
+                           Function<String, String> duplicateMessage) {
+}
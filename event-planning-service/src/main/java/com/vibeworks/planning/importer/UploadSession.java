@@ -0,0 +1,40 @@
+package com.vibeworks.planning.importer;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * A resumable upload being assembled in a local file. {@code received} only advances past bytes
+ * that have been written, so it is always a safe offset to resume from.
+ */
+@Getter
+public class UploadSession {
+    
+    private final String id;
+    private final String type;
+    private final String fileName;
+    private final Long size;
+    private final Path path;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime updatedAt = createdAt;
+    private volatile long received = 0;
+    
+    public UploadSession(String id, String type, String fileName, Long size, Path path) {
+        this.id = id;
+        this.type = type;
+        this.fileName = fileName;
+        this.size = size;
+        this.path = path;
+    }
+    
+    public void advance(long bytes) {
+        received += bytes;
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isComplete() {
+        return size == null || received == size;
+    }
+}
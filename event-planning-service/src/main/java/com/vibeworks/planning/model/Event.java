@@ -4,12 +4,20 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * A planned event and its wizard state. Assigned members and completed steps are JSON documents
+ * kept as strings here and stored as jsonb. Tasks are stored as {@link Task} rows; the service
+ * loads them as one JSON list where it serves them. Updates only write the columns that changed.
+ */
 @Entity
 @Table(name = "events")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,17 +36,24 @@ public class Event {
     private String endDate;
     private String eventDate;
     
-    @Column(columnDefinition = "TEXT")
+    // Not mapped: tasks are rows of the tasks table, loaded only where the list is served
+    @Transient
     private String tasks; // JSON string
     
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "jsonb")
+    @ColumnTransformer(write = "?::jsonb")
     private String assignedMembers; // JSON string
     
     private Integer currentStep = 1;
     
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "jsonb")
+    @ColumnTransformer(write = "?::jsonb")
     private String completedSteps; // JSON string
     
+    // Bumped on every update; wizard patches are checked against it
+    @Version
+    private Long version;
+    
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
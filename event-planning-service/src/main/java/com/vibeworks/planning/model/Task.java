@@ -4,17 +4,26 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+/**
+ * One task of an event. {@code data} holds the task as the wizard or the AI service sent it and
+ * is what clients get back; the other columns are copied out of it so tasks can be queried.
+ */
 @Entity
 @Table(name = "tasks")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+    // Ids come from the sequence in blocks of 50, which lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -31,6 +40,13 @@ public class Task {
     private Double durationQuantity;
     private String durationUnit; // hours, days
     
+    @Column(nullable = false)
+    private Integer position; // index in the event's task list
+    
+    @Column(columnDefinition = "jsonb", nullable = false)
+    @ColumnTransformer(write = "?::jsonb")
+    private String data; // JSON string
+    
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
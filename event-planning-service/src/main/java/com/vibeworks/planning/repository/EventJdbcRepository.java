@@ -0,0 +1,247 @@
+package com.vibeworks.planning.repository;
+
+import com.vibeworks.planning.dto.EventSearchHit;
+import com.vibeworks.planning.dto.WizardSummary;
+import com.vibeworks.planning.model.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the events table for bulk write paths and listings that should not load
+ * the JSON documents.
+ */
+@Repository
+public class EventJdbcRepository {
+    
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS event_import_staging (" +
+            "row_no INTEGER NOT NULL, event_name TEXT, event_info TEXT, start_date TEXT, end_date TEXT, " +
+            "event_date TEXT, assigned_members TEXT, current_step INTEGER, completed_steps TEXT" +
+            ") ON COMMIT DELETE ROWS";
+    
+    private static final String COPY_SQL =
+            "COPY event_import_staging (row_no, event_name, event_info, start_date, end_date, event_date, " +
+            "assigned_members, current_step, completed_steps) FROM STDIN WITH (FORMAT csv)";
+    
+    private static final String MERGE_SQL =
+            "INSERT INTO events (event_name, event_info, start_date, end_date, event_date, " +
+            "assigned_members, current_step, completed_steps, created_at, updated_at) " +
+            "SELECT event_name, event_info, start_date, end_date, event_date, " +
+            "assigned_members::jsonb, current_step, completed_steps::jsonb, ?, ? " +
+            "FROM event_import_staging ORDER BY row_no " +
+            "ON CONFLICT (event_name) DO NOTHING " +
+            "RETURNING *";
+    
+    // JSON documents are only replaced when their content differs, so unchanged ones keep their
+    // stored value and are not rewritten
+    private static final String UPSERT_WIZARD_PREFIX =
+            "INSERT INTO events (event_name, event_info, start_date, end_date, event_date, " +
+            "assigned_members, current_step, completed_steps, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?::jsonb, ?, ?::jsonb, ?, ?) " +
+            "ON CONFLICT (event_name) DO UPDATE SET " +
+            "event_info = EXCLUDED.event_info, start_date = EXCLUDED.start_date, end_date = EXCLUDED.end_date, " +
+            "event_date = EXCLUDED.event_date, current_step = EXCLUDED.current_step, " +
+            "assigned_members = CASE WHEN events.assigned_members IS DISTINCT FROM EXCLUDED.assigned_members " +
+            "THEN EXCLUDED.assigned_members ELSE events.assigned_members END, " +
+            "completed_steps = CASE WHEN events.completed_steps IS DISTINCT FROM EXCLUDED.completed_steps " +
+            "THEN EXCLUDED.completed_steps ELSE events.completed_steps END, " +
+            "updated_at = EXCLUDED.updated_at, version = events.version + 1 ";
+    
+    private static final String UPSERT_WIZARD_SQL = UPSERT_WIZARD_PREFIX + "RETURNING *";
+    
+    // A null expected version never matches, so the insert only goes through for a new name
+    private static final String UPSERT_WIZARD_IF_VERSION_SQL =
+            UPSERT_WIZARD_PREFIX + "WHERE events.version = ? RETURNING *";
+    
+    private static final RowMapper<Event> EVENT_ROW_MAPPER = new BeanPropertyRowMapper<>(Event.class);
+    
+    // Counts are computed in the database so the documents themselves are never sent over
+    private static final String SUMMARY_FIELDS =
+            "id, event_name, start_date, end_date, event_date, current_step, " +
+            "(SELECT count(*) FROM tasks t WHERE t.event_id = events.id) AS task_count, " +
+            "CASE WHEN jsonb_typeof(assigned_members) = 'array' THEN jsonb_array_length(assigned_members) ELSE 0 END AS member_count, " +
+            "updated_at";
+    
+    private static final String SUMMARY_COLUMNS = "SELECT " + SUMMARY_FIELDS + " FROM events ";
+    
+    private static final String FIRST_SUMMARIES_SQL =
+            SUMMARY_COLUMNS + "ORDER BY updated_at DESC, id DESC LIMIT ?";
+    
+    private static final String NEXT_SUMMARIES_SQL =
+            SUMMARY_COLUMNS + "WHERE (updated_at, id) < (?, ?) ORDER BY updated_at DESC, id DESC LIMIT ?";
+    
+    private static final RowMapper<WizardSummary> SUMMARY_ROW_MAPPER = new BeanPropertyRowMapper<>(WizardSummary.class);
+    
+    // Matches come from the GIN index on search_vector; only they are ranked
+    private static final String SEARCH_HITS =
+            "SELECT * FROM (SELECT " + SUMMARY_FIELDS + ", ts_rank_cd(search_vector, query) AS rank " +
+            "FROM events, to_tsquery('simple', ?) query WHERE search_vector @@ query) hits ";
+    
+    private static final String FIRST_SEARCH_SQL =
+            SEARCH_HITS + "ORDER BY rank DESC, id DESC LIMIT ?";
+    
+    private static final String NEXT_SEARCH_SQL =
+            SEARCH_HITS + "WHERE (rank, id) < (?, ?) ORDER BY rank DESC, id DESC LIMIT ?";
+    
+    private static final RowMapper<EventSearchHit> SEARCH_HIT_ROW_MAPPER = new BeanPropertyRowMapper<>(EventSearchHit.class);
+    
+    private static final String REFRESH_SEARCH_VECTOR_SQL =
+            "UPDATE events SET search_vector = event_search_vector(id, event_name, event_info) WHERE id = ANY (?)";
+    
+    // Each task as stored, with its row id added as taskId, in list order
+    private static final String TASK_LIST =
+            "jsonb_agg(CASE WHEN jsonb_typeof(data) = 'object' " +
+            "THEN data || jsonb_build_object('taskId', id) ELSE data END ORDER BY position)";
+    
+    private static final String TASK_LISTS_SQL =
+            "SELECT event_id, " + TASK_LIST + " AS tasks FROM tasks WHERE event_id = ANY (?) GROUP BY event_id";
+    
+    // Lengths as the export renders the values; the other columns are bounded well below any limit
+    private static final String FIRST_LONG_VALUE_SQL =
+            "SELECT event_name FROM events WHERE length(event_info) > ? " +
+            "OR length(assigned_members::text) > ? OR length(completed_steps::text) > ? " +
+            "OR id IN (SELECT event_id FROM tasks GROUP BY event_id HAVING length(" + TASK_LIST + "::text) > ?) " +
+            "ORDER BY id LIMIT 1";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Bulk-loads events with COPY into a session-local staging table, then merges them into
+     * events with a single INSERT ... ON CONFLICT (event_name) DO NOTHING. Must run inside a
+     * transaction. Returns the rows actually inserted; events whose name already existed, or
+     * appeared earlier in the list, are skipped.
+     */
+    public List<Event> copyInsert(List<Event> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try {
+                PgCopy.copyIn(connection, COPY_SQL, events, event -> new Object[] {
+                    event.getEventName(),
+                    event.getEventInfo(),
+                    event.getStartDate(),
+                    event.getEndDate(),
+                    event.getEventDate(),
+                    event.getAssignedMembers(),
+                    event.getCurrentStep(),
+                    event.getCompletedSteps()
+                });
+            } catch (IOException e) {
+                throw new SQLException("COPY into event_import_staging failed", e);
+            }
+            return null;
+        });
+        
+        return jdbcTemplate.query(MERGE_SQL, EVENT_ROW_MAPPER, now, now);
+    }
+    
+    /**
+     * Creates or overwrites the event with the given name in one statement and returns the
+     * stored row. Concurrent saves of a new name are safe: the loser of the insert race updates
+     * the winner's row instead of failing on the unique name. Every save moves the version on.
+     * The task list is not part of the row and is left to the caller.
+     */
+    public Event upsertWizard(Event event) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.queryForObject(UPSERT_WIZARD_SQL, EVENT_ROW_MAPPER,
+                event.getEventName(), event.getEventInfo(), event.getStartDate(), event.getEndDate(),
+                event.getEventDate(), event.getAssignedMembers(), event.getCurrentStep(),
+                event.getCompletedSteps(), now, now);
+    }
+    
+    /**
+     * Like {@link #upsertWizard(Event)}, but only overwrites an existing event that is still at
+     * {@code expectedVersion}, and only inserts when that is null. Returns empty when the event
+     * was changed or created by someone else.
+     */
+    public Optional<Event> upsertWizard(Event event, Long expectedVersion) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(UPSERT_WIZARD_IF_VERSION_SQL, EVENT_ROW_MAPPER,
+                event.getEventName(), event.getEventInfo(), event.getStartDate(), event.getEndDate(),
+                event.getEventDate(), event.getAssignedMembers(), event.getCurrentStep(),
+                event.getCompletedSteps(), now, now, expectedVersion).stream().findFirst();
+    }
+    
+    /**
+     * Lists event summaries, most recently updated first, starting after the given
+     * {@code (updatedAt, id)} position, or from the top when it is null. Seeks on the
+     * {@code (updated_at, id)} index rather than skipping rows, so every page costs the same.
+     */
+    public List<WizardSummary> findSummaries(LocalDateTime afterUpdatedAt, Long afterId, int limit) {
+        if (afterUpdatedAt == null) {
+            return jdbcTemplate.query(FIRST_SUMMARIES_SQL, SUMMARY_ROW_MAPPER, limit);
+        }
+        return jdbcTemplate.query(NEXT_SUMMARIES_SQL, SUMMARY_ROW_MAPPER,
+                Timestamp.valueOf(afterUpdatedAt), afterId, limit);
+    }
+    
+    /**
+     * Finds events matching a {@code to_tsquery} expression, best match first, starting after
+     * the given {@code (rank, id)} position, or from the top when it is null.
+     */
+    public List<EventSearchHit> search(String tsQuery, Float afterRank, Long afterId, int limit) {
+        if (afterRank == null) {
+            return jdbcTemplate.query(FIRST_SEARCH_SQL, SEARCH_HIT_ROW_MAPPER, tsQuery, limit);
+        }
+        return jdbcTemplate.query(NEXT_SEARCH_SQL, SEARCH_HIT_ROW_MAPPER, tsQuery, afterRank, afterId, limit);
+    }
+    
+    /**
+     * Recomputes the search vectors of the given events after their task titles changed. Name
+     * and info changes are handled by a trigger on events.
+     */
+    public void refreshSearchVectors(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(REFRESH_SEARCH_VECTOR_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", eventIds.toArray())));
+    }
+    
+    /**
+     * Reads the task lists of the given events as JSON, keyed by event id, in one query. Events
+     * without tasks are left out.
+     */
+    public Map<Long, String> findTaskLists(Collection<Long> eventIds) {
+        Map<Long, String> taskLists = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return taskLists;
+        }
+        jdbcTemplate.query(TASK_LISTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", eventIds.toArray())),
+                rs -> {
+                    taskLists.put(rs.getLong("event_id"), rs.getString("tasks"));
+                });
+        return taskLists;
+    }
+    
+    /**
+     * Returns the name of the first event with an exported value, its info, task list, assigned
+     * members or completed steps, longer than {@code maxLength} characters. Renders every task
+     * list, so it costs about as much as reading them for an export.
+     */
+    public Optional<String> findFirstWithValueLongerThan(int maxLength) {
+        return jdbcTemplate.queryForList(FIRST_LONG_VALUE_SQL, String.class,
+                maxLength, maxLength, maxLength, maxLength).stream().findFirst();
+    }
+}
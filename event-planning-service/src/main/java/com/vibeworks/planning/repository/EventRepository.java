@@ -1,13 +1,42 @@
 package com.vibeworks.planning.repository;
 
 import com.vibeworks.planning.model.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     Optional<Event> findByEventName(String eventName);
+    
+    @Query("SELECT e.id AS id, e.version AS version FROM Event e WHERE e.eventName = :eventName")
+    Optional<EventVersion> findVersionByEventName(@Param("eventName") String eventName);
+    
+    @Query("SELECT e.id AS id, e.version AS version FROM Event e")
+    List<EventVersion> findAllVersions();
+    
+    @Query("SELECT e.eventName FROM Event e WHERE e.eventName IN :eventNames")
+    Set<String> findExistingEventNames(@Param("eventNames") Collection<String> eventNames);
+    
+    /**
+     * Streams every event for export, fetching rows from the cursor in batches. Must be consumed
+     * inside a transaction, since PostgreSQL only honours the fetch size with auto-commit off.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e ORDER BY e.id")
+    Stream<Event> streamAllForExport();
 }
 
@@ -0,0 +1,10 @@
+package com.vibeworks.planning.repository;
+
+/**
+ * Id and version of an event, read without loading its JSON documents.
+ */
+public interface EventVersion {
+    Long getId();
+    
+    Long getVersion();
+}
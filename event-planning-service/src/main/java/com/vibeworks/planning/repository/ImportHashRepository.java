@@ -0,0 +1,141 @@
+package com.vibeworks.planning.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * File and row content hashes recorded by imports, so repeated uploads can be recognized.
+ */
+@Repository
+public class ImportHashRepository {
+    
+    private static final String FIND_FILE_SQL =
+            "SELECT result FROM import_files " +
+            "WHERE import_type = ? AND content_hash = ? AND created_at >= ?";
+    
+    private static final String UPSERT_FILE_SQL =
+            "INSERT INTO import_files (import_type, content_hash, file_name, result, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (import_type, content_hash) " +
+            "DO UPDATE SET file_name = EXCLUDED.file_name, result = EXCLUDED.result, created_at = EXCLUDED.created_at";
+    
+    private static final String FIND_ROWS_SQL =
+            "SELECT row_key, content_hash, import_id FROM import_row_hashes " +
+            "WHERE import_type = :importType AND row_key IN (:rowKeys)";
+    
+    private static final String UPSERT_ROW_SQL =
+            "INSERT INTO import_row_hashes (import_type, row_key, content_hash, import_id, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (import_type, row_key) " +
+            "DO UPDATE SET content_hash = EXCLUDED.content_hash, import_id = EXCLUDED.import_id, " +
+            "updated_at = EXCLUDED.updated_at";
+    
+    private static final String MARK_ROWS_SQL =
+            "UPDATE import_row_hashes SET import_id = :importId " +
+            "WHERE import_type = :importType AND row_key IN (:rowKeys)";
+    
+    private static final String DELETE_FILES_SQL =
+            "DELETE FROM import_files WHERE import_type = ?";
+    
+    private static final String DELETE_ROWS_SQL =
+            "DELETE FROM import_row_hashes WHERE import_type = :importType AND row_key IN (:rowKeys)";
+    
+    /**
+     * The recorded hash of a row and the import that last wrote or matched it.
+     */
+    public record RowHash(String contentHash, UUID importId) {
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    /**
+     * Returns the stored result of an identical file imported at or after {@code notBefore}.
+     */
+    public Optional<String> findFileResult(String importType, String contentHash, LocalDateTime notBefore) {
+        List<String> results = jdbcTemplate.queryForList(FIND_FILE_SQL, String.class,
+                importType, contentHash, Timestamp.valueOf(notBefore));
+        return results.stream().findFirst();
+    }
+    
+    public void saveFileResult(String importType, String contentHash, String fileName, String result) {
+        jdbcTemplate.update(UPSERT_FILE_SQL, importType, contentHash, fileName, result,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+    
+    /**
+     * Returns row key -> recorded hash for the keys that have one.
+     */
+    public Map<String, RowHash> findRowHashes(String importType, Collection<String> rowKeys) {
+        Map<String, RowHash> hashes = new HashMap<>();
+        if (rowKeys.isEmpty()) {
+            return hashes;
+        }
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("importType", importType)
+                .addValue("rowKeys", rowKeys);
+        namedParameterJdbcTemplate.query(FIND_ROWS_SQL, params,
+                rs -> { hashes.put(rs.getString("row_key"),
+                        new RowHash(rs.getString("content_hash"), rs.getObject("import_id", UUID.class))); });
+        return hashes;
+    }
+    
+    public void saveRowHashes(String importType, UUID importId, Map<String, String> hashesByKey) {
+        if (hashesByKey.isEmpty()) {
+            return;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(hashesByKey.size());
+        hashesByKey.forEach((rowKey, contentHash) -> batch.add(new Object[] {importType, rowKey, contentHash, importId, now}));
+        jdbcTemplate.batchUpdate(UPSERT_ROW_SQL, batch);
+    }
+    
+    /**
+     * Records that {@code importId} matched these rows without rewriting them.
+     */
+    public void markRows(String importType, UUID importId, Collection<String> rowKeys) {
+        if (rowKeys.isEmpty()) {
+            return;
+        }
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("importType", importType)
+                .addValue("rowKeys", rowKeys);
+        namedParameterJdbcTemplate.update(MARK_ROWS_SQL, params);
+    }
+    
+    /**
+     * Drops the recorded hashes of these rows and every stored file result of the import type,
+     * since any of those files may have covered them.
+     */
+    public void deleteRowsAndFileResults(String importType, Collection<String> rowKeys) {
+        jdbcTemplate.update(DELETE_FILES_SQL, importType);
+        if (rowKeys.isEmpty()) {
+            return;
+        }
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("importType", importType)
+                .addValue("rowKeys", rowKeys);
+        namedParameterJdbcTemplate.update(DELETE_ROWS_SQL, params);
+    }
+}
@@ -0,0 +1,255 @@
+package com.vibeworks.planning.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibeworks.planning.dto.MemberSearchCriteria;
+import com.vibeworks.planning.model.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the members table for write paths where going through
+ * Hibernate entity by entity is too slow (IDENTITY ids disable JPA batching).
+ */
+@Repository
+public class MemberJdbcRepository {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO members (type, first_name, last_name, name, email, phone, whatsapp, " +
+            "specialized_in, experience, address, offline, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS member_import_staging (" +
+            "row_no INTEGER NOT NULL, type TEXT, first_name TEXT, last_name TEXT, name TEXT, email TEXT, " +
+            "phone TEXT, whatsapp TEXT, specialized_in TEXT, experience TEXT, address TEXT, offline BOOLEAN" +
+            ") ON COMMIT DELETE ROWS";
+    
+    private static final String COPY_SQL =
+            "COPY member_import_staging (row_no, type, first_name, last_name, name, email, phone, whatsapp, " +
+            "specialized_in, experience, address, offline) FROM STDIN WITH (FORMAT csv)";
+    
+    private static final String MERGE_SQL =
+            "INSERT INTO members (type, first_name, last_name, name, email, phone, whatsapp, " +
+            "specialized_in, experience, address, offline, created_at, updated_at) " +
+            "SELECT type, first_name, last_name, name, email, phone, whatsapp, " +
+            "specialized_in, experience, address, offline, ?, ? " +
+            "FROM member_import_staging ORDER BY row_no " +
+            "ON CONFLICT (email) DO NOTHING " +
+            "RETURNING *";
+    
+    private static final String INSERT_IF_ABSENT_SQL =
+            INSERT_SQL + " ON CONFLICT (email) DO NOTHING RETURNING *";
+    
+    private static final String UPDATE_SQL =
+            "UPDATE members SET type = ?, first_name = ?, last_name = ?, name = ?, email = ?, phone = ?, " +
+            "whatsapp = ?, specialized_in = ?, experience = ?, address = ?, offline = COALESCE(?, offline), updated_at = ? " +
+            "WHERE id = ? RETURNING *";
+    
+    private static final RowMapper<Member> MEMBER_ROW_MAPPER = new BeanPropertyRowMapper<>(Member.class);
+    
+    private static final String MEMBER_COLUMNS =
+            "id, type, first_name, last_name, name, email, phone, whatsapp, specialized_in, experience, " +
+            "address, offline, created_at, updated_at";
+    
+    // Same expression as idx_members_search_text_trgm, so free-text filters can use it
+    private static final String SEARCH_TEXT =
+            "(COALESCE(first_name, '') || ' ' || COALESCE(last_name, '') || ' ' || COALESCE(name, '') || ' ' || email)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Inserts all members with a single JDBC batch. Generated ids are not read back;
+     * callers that need them should re-select by email.
+     */
+    public void insertAll(List<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, members, members.size(), (ps, member) -> {
+            member.setCreatedAt(now);
+            member.setUpdatedAt(now);
+            ps.setString(1, member.getType());
+            ps.setString(2, member.getFirstName());
+            ps.setString(3, member.getLastName());
+            ps.setString(4, member.getName());
+            ps.setString(5, member.getEmail());
+            ps.setString(6, member.getPhone());
+            ps.setString(7, member.getWhatsapp());
+            ps.setString(8, member.getSpecializedIn());
+            ps.setString(9, member.getExperience());
+            ps.setString(10, member.getAddress());
+            ps.setBoolean(11, Boolean.TRUE.equals(member.getOffline()));
+            ps.setTimestamp(12, timestamp);
+            ps.setTimestamp(13, timestamp);
+        });
+    }
+    
+    /**
+     * Inserts a member unless one with the same email exists, in one statement. Returns the
+     * inserted row, or empty when the email is taken, including by a concurrent insert.
+     */
+    public Optional<Member> insertIfAbsent(Member member) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(INSERT_IF_ABSENT_SQL, MEMBER_ROW_MAPPER,
+                member.getType(), member.getFirstName(), member.getLastName(), member.getName(),
+                member.getEmail(), member.getPhone(), member.getWhatsapp(), member.getSpecializedIn(),
+                member.getExperience(), member.getAddress(), Boolean.TRUE.equals(member.getOffline()), now, now)
+                .stream().findFirst();
+    }
+    
+    /**
+     * Overwrites a member's fields in one statement and returns the updated row, or empty when
+     * there is no member with that id. A null {@code offline} keeps the stored flag. Taking
+     * another member's email fails with a {@link org.springframework.dao.DuplicateKeyException}
+     * from the unique index.
+     */
+    public Optional<Member> update(Long id, Member member) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(UPDATE_SQL, MEMBER_ROW_MAPPER,
+                member.getType(), member.getFirstName(), member.getLastName(), member.getName(),
+                member.getEmail(), member.getPhone(), member.getWhatsapp(), member.getSpecializedIn(),
+                member.getExperience(), member.getAddress(), member.getOffline(), now, id)
+                .stream().findFirst();
+    }
+    
+    /**
+     * Bulk-loads members with COPY into a session-local staging table, then merges them into
+     * members with a single INSERT ... ON CONFLICT (email) DO NOTHING. Must run inside a
+     * transaction. Returns the rows actually inserted; members whose email already existed, or
+     * appeared earlier in the list, are skipped.
+     */
+    public List<Member> copyInsert(List<Member> members) {
+        if (members.isEmpty()) {
+            return List.of();
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try {
+                PgCopy.copyIn(connection, COPY_SQL, members, member -> new Object[] {
+                    member.getType(),
+                    member.getFirstName(),
+                    member.getLastName(),
+                    member.getName(),
+                    member.getEmail(),
+                    member.getPhone(),
+                    member.getWhatsapp(),
+                    member.getSpecializedIn(),
+                    member.getExperience(),
+                    member.getAddress(),
+                    Boolean.TRUE.equals(member.getOffline())
+                });
+            } catch (IOException e) {
+                throw new SQLException("COPY into member_import_staging failed", e);
+            }
+            return null;
+        });
+        
+        return jdbcTemplate.query(MERGE_SQL, MEMBER_ROW_MAPPER, now, now);
+    }
+    
+    /**
+     * Lists members matching the criteria, newest first, starting after the given
+     * {@code (createdAt, id)} position, or from the top when it is null. Filters run in the
+     * database on the type, trigram and experience indexes.
+     */
+    public List<Member> search(MemberSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addFilters(criteria, conditions, args);
+        if (afterCreatedAt != null) {
+            conditions.add("(created_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(afterCreatedAt));
+            args.add(afterId);
+        }
+        args.add(limit);
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members" + where(conditions) +
+                " ORDER BY created_at DESC, id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, MEMBER_ROW_MAPPER, args.toArray());
+    }
+    
+    /**
+     * Returns the planner's estimate of how many members match the criteria. Costs one EXPLAIN
+     * rather than a count over every match.
+     */
+    public long estimateCount(MemberSearchCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addFilters(criteria, conditions, args);
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM members" + where(conditions), String.class, args.toArray());
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan", e);
+        }
+    }
+    
+    private static void addFilters(MemberSearchCriteria criteria, List<String> conditions, List<Object> args) {
+        if (hasText(criteria.getType())) {
+            conditions.add("type = ?");
+            args.add(criteria.getType().trim().toLowerCase(Locale.ROOT));
+        }
+        if (hasText(criteria.getSpecializedIn())) {
+            conditions.add("specialized_in ILIKE ?");
+            args.add(containsPattern(criteria.getSpecializedIn()));
+        }
+        if (criteria.getOffline() != null) {
+            conditions.add("offline = ?");
+            args.add(criteria.getOffline());
+        }
+        // Ranges overlap the requested one; an open-ended "10+" is stored with an infinite maximum
+        if (criteria.getExperienceMin() != null) {
+            conditions.add("experience_max >= ?::numeric");
+            args.add(criteria.getExperienceMin());
+        }
+        if (criteria.getExperienceMax() != null) {
+            conditions.add("experience_min <= ?::numeric");
+            args.add(criteria.getExperienceMax());
+        }
+        if (hasText(criteria.getQ())) {
+            conditions.add(SEARCH_TEXT + " ILIKE ?");
+            args.add(containsPattern(criteria.getQ()));
+        }
+    }
+    
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    /**
+     * An ILIKE pattern matching {@code text} anywhere, with LIKE wildcards in it taken literally.
+     */
+    private static String containsPattern(String text) {
+        String escaped = text.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
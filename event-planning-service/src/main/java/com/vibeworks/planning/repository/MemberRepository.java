@@ -1,16 +1,47 @@
 package com.vibeworks.planning.repository;
 
 import com.vibeworks.planning.model.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
+    List<Member> findByEmailIn(Collection<String> emails);
     List<Member> findByType(String type);
     List<Member> findAllByOrderByCreatedAtDesc();
+    List<Member> findByTypeIgnoreCaseOrderByCreatedAtDesc(String type);
+    
+    @Query("SELECT m.email FROM Member m WHERE m.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Returns the email of the first member whose address, the only unbounded column, is longer
+     * than {@code maxLength} characters.
+     */
+    @Query(value = "SELECT email FROM members WHERE length(address) > :maxLength ORDER BY id LIMIT 1",
+            nativeQuery = true)
+    Optional<String> findFirstWithAddressLongerThan(@Param("maxLength") int maxLength);
+    
+    /**
+     * Streams every member for export, fetching rows from the cursor in batches. Must be consumed
+     * inside a transaction, since PostgreSQL only honours the fetch size with auto-commit off.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Member m ORDER BY m.id")
+    Stream<Member> streamAllForExport();
 }
-
@@ -0,0 +1,60 @@
+package com.vibeworks.planning.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streams rows into PostgreSQL with {@code COPY ... FROM STDIN (FORMAT csv)}. Nulls are written as
+ * unquoted empty fields and every other value is quoted, so empty strings survive the round trip.
+ * The first column written for each row is its position in the list, so staged rows can be put
+ * back in input order.
+ */
+final class PgCopy {
+    
+    private PgCopy() {
+    }
+    
+    static <T> void copyIn(Connection connection, String copySql, List<T> rows,
+                           Function<T, Object[]> columns) throws SQLException, IOException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, copySql), StandardCharsets.UTF_8))) {
+            for (int rowNo = 0; rowNo < rows.size(); rowNo++) {
+                writer.write(Integer.toString(rowNo));
+                for (Object value : columns.apply(rows.get(rowNo))) {
+                    writer.write(',');
+                    writeValue(writer, value);
+                }
+                writer.write('\n');
+            }
+        }
+    }
+    
+    private static void writeValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        
+        String text = value.toString();
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
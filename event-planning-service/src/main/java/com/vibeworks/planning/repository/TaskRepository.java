@@ -9,6 +9,7 @@ import java.util.List;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByEventId(Long eventId);
+    List<Task> findByEventIdOrderByPosition(Long eventId);
     void deleteByEventId(Long eventId);
 }
 
@@ -0,0 +1,247 @@
+package com.vibeworks.planning.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-process caches of all service instances in step, using PostgreSQL
+ * {@code LISTEN/NOTIFY} on the application database.
+ *
+ * <p>Writers {@link #publish} the ids of the events or members they changed. The notification
+ * is sent with the writer's transaction, so other instances hear of a change only once it has
+ * committed, and never of a rolled-back one. Each instance listens on a connection of its own,
+ * opened with the datasource settings but outside the pool, and passes the ids to the handlers
+ * {@link #subscribe subscribed} to their topic. An instance skips its own notifications, since
+ * it updated its caches when it wrote.
+ *
+ * <p>Notifications sent while the listening connection is down are lost. After connecting, and
+ * so after every reconnect, each topic's resync handler runs to drop whatever may have been
+ * missed.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+    
+    static final String CHANNEL = "planning_cache_invalidation";
+    
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    
+    public enum Topic {
+        EVENT, MEMBER
+    }
+    
+    private record Subscription(Consumer<List<Long>> onChange, Runnable onResync) {
+    }
+    
+    @Value("${cache-invalidation.enabled:true}")
+    private boolean enabled;
+    
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Topic, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor listener;
+    private volatile boolean running;
+    private volatile Connection connection;
+    
+    @PostConstruct
+    void startListener() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new ThreadPoolTaskExecutor();
+        listener.setCorePoolSize(1);
+        listener.setMaxPoolSize(1);
+        listener.setThreadNamePrefix("cache-invalidation-");
+        listener.initialize();
+        listener.execute(this::listen);
+    }
+    
+    @PreDestroy
+    void stopListener() {
+        running = false;
+        if (listener != null) {
+            closeConnection();
+            listener.shutdown();
+        }
+    }
+    
+    /**
+     * Registers the handlers of one topic: {@code onChange} with the ids another instance
+     * changed, and {@code onResync} when notifications may have been missed. Both run on the
+     * listener thread.
+     */
+    public void subscribe(Topic topic, Consumer<List<Long>> onChange, Runnable onResync) {
+        subscriptions.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>())
+                .add(new Subscription(onChange, onResync));
+    }
+    
+    /**
+     * Tells the other instances that these entities changed. Inside a transaction, they are told
+     * when it commits.
+     */
+    public void publish(Topic topic, Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        String prefix = instanceId + ":" + topic + ":";
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : ids) {
+            String next = id.toString();
+            if (payload.length() + next.length() + 1 > MAX_PAYLOAD_BYTES) {
+                notify(payload.toString());
+                payload.setLength(prefix.length());
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(next);
+        }
+        notify(payload.toString());
+    }
+    
+    public void publish(Topic topic, Long id) {
+        publish(topic, List.of(id));
+    }
+    
+    private void notify(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+    
+    private void listen() {
+        long delay = 1000;
+        while (running) {
+            try {
+                connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        connectionProperties());
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cache invalidations on '{}'", CHANNEL);
+                resync();
+                delay = 1000;
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {} ms", delay, e);
+                closeConnection();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+        closeConnection();
+    }
+    
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", CHANNEL);
+        return properties;
+    }
+    
+    private void receive(PGConnection pgConnection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+            if (notifications == null || notifications.length == 0) {
+                // A quiet connection may also be a dead one
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Listening connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getParameter());
+            }
+        }
+    }
+    
+    private void dispatch(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        Topic topic;
+        List<Long> ids = new ArrayList<>();
+        try {
+            topic = Topic.valueOf(parts[1]);
+            for (String id : parts[2].split(",")) {
+                ids.add(Long.parseLong(id));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+            return;
+        }
+        for (Subscription subscription : subscriptions.getOrDefault(topic, List.of())) {
+            try {
+                subscription.onChange().accept(ids);
+            } catch (RuntimeException e) {
+                // The entries stay stale until the next resync; drop everything of this topic instead
+                log.error("Applying {} invalidation failed, resyncing", topic, e);
+                subscription.onResync().run();
+            }
+        }
+    }
+    
+    private void resync() {
+        subscriptions.forEach((topic, topicSubscriptions) -> {
+            for (Subscription subscription : topicSubscriptions) {
+                subscription.onResync().run();
+            }
+        });
+    }
+    
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Closing the cache invalidation connection failed", e);
+            }
+        }
+    }
+}
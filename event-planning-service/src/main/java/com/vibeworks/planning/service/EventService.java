@@ -1,75 +1,525 @@
 package com.vibeworks.planning.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.vibeworks.planning.dto.*;
+import com.vibeworks.planning.exporter.ExportColumn;
+import com.vibeworks.planning.exporter.ExportFormat;
+import com.vibeworks.planning.exporter.ExportWriter;
+import com.vibeworks.planning.exporter.TableExporter;
+import com.vibeworks.planning.importer.ChunkWriter;
+import com.vibeworks.planning.importer.EventImportSchema;
+import com.vibeworks.planning.importer.ImportEngine;
+import com.vibeworks.planning.importer.ImportMode;
+import com.vibeworks.planning.importer.ImportOptions;
+import com.vibeworks.planning.importer.ImportResult;
+import com.vibeworks.planning.importer.ImportRow;
+import com.vibeworks.planning.importer.ImportSource;
+import com.vibeworks.planning.importer.RowResult;
+import com.vibeworks.planning.importer.UniqueKey;
 import com.vibeworks.planning.model.Event;
+import com.vibeworks.planning.repository.EventJdbcRepository;
 import com.vibeworks.planning.repository.EventRepository;
+import com.vibeworks.planning.repository.EventVersion;
+import com.vibeworks.planning.util.JsonPatch;
+import com.vibeworks.planning.util.SeekCursor;
+import com.vibeworks.planning.util.exceptions.ExportValueTooLongException;
+import com.vibeworks.planning.util.exceptions.InvalidCursorException;
+import com.vibeworks.planning.util.exceptions.InvalidPatchException;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
 import com.vibeworks.planning.util.exceptions.ResourceAlreadyExistsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class EventService {
     
+    private static final int WIZARD_LOAD_BATCH_SIZE = 1000;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_TERMS = 8;
+    
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+        "eventInfo", "startDate", "endDate", "eventDate", "tasks", "assignedMembers", "currentStep", "completedSteps"
+    );
+    
+    // Headers and keys the event import schema maps back to the same fields. "Completed" rather
+    // than "Completed Steps", which header matching would read as the current step.
+    private static final List<ExportColumn<Event>> EXPORT_COLUMNS = List.of(
+        ExportColumn.of("Event Name", "eventName", Event::getEventName),
+        ExportColumn.of("Event Info", "eventInfo", Event::getEventInfo),
+        ExportColumn.of("Start Date", "startDate", Event::getStartDate),
+        ExportColumn.of("End Date", "endDate", Event::getEndDate),
+        ExportColumn.of("Event Date", "eventDate", Event::getEventDate),
+        ExportColumn.json("Tasks", "tasks", Event::getTasks),
+        ExportColumn.json("Assigned Members", "assignedMembers", Event::getAssignedMembers),
+        ExportColumn.of("Current Step", "currentStep", Event::getCurrentStep),
+        ExportColumn.json("Completed", "completedSteps", Event::getCompletedSteps),
+        ExportColumn.of("ID", "id", Event::getId),
+        ExportColumn.of("Created At", "createdAt", Event::getCreatedAt),
+        ExportColumn.of("Updated At", "updatedAt", Event::getUpdatedAt)
+    );
+    
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private EventJdbcRepository eventJdbcRepository;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private ImportEngine importEngine;
+    
+    @Autowired
+    private EventImportSchema eventImportSchema;
+    
     @Autowired
     private AiServiceClient aiServiceClient;
     
+    @Autowired
+    private TableExporter tableExporter;
+    
+    @Autowired
+    private WizardResponseCache wizardResponseCache;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${events.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+    
+    @Value("${events.write-behind.window-ms:2000}")
+    private long writeBehindWindowMs;
+    
+    // Wizard writes run in their own transaction, also when a buffered save is flushed from
+    // inside a patch or delete
+    private TransactionTemplate wizardWriteTemplate;
+    // Event rows and their task lists are read from one snapshot, so a response is never built
+    // from two versions of the event and cached under one of them
+    private TransactionTemplate wizardReadTemplate;
+    private WizardSaveBuffer saveBuffer;
+    
+    @PostConstruct
+    void startSaveBuffer() {
+        wizardWriteTemplate = new TransactionTemplate(transactionManager);
+        wizardWriteTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        wizardReadTemplate = new TransactionTemplate(transactionManager);
+        wizardReadTemplate.setReadOnly(true);
+        wizardReadTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        if (writeBehindEnabled) {
+            saveBuffer = new WizardSaveBuffer(new BufferedWizardStore(), writeBehindWindowMs);
+            log.info("Buffering wizard saves for {} ms", writeBehindWindowMs);
+        }
+    }
+    
+    @PreDestroy
+    void stopSaveBuffer() {
+        if (saveBuffer != null) {
+            saveBuffer.close();
+        }
+    }
+    
+    /**
+     * Saves a wizard with a single upsert on the event name, so concurrent autosaves of a new
+     * event cannot collide on the unique name. The upsert holds the event's row lock until
+     * commit, which also serializes the task sync that follows.
+     *
+     * <p>With {@code events.write-behind.enabled}, the save is buffered instead and successive
+     * saves of the event are written once per window; this waits for the save's window to be
+     * written. See {@link WizardSaveBuffer}.
+     */
     public WizardDataResponse saveWizardData(WizardDataRequest request) {
-        Optional<Event> existing = eventRepository.findByEventName(request.getEventName());
+        if (saveBuffer == null) {
+            return writeWizard(request);
+        }
+        try {
+            return saveBuffer.submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Like {@link #saveWizardData}, but returns as soon as the save is buffered, with a future
+     * that completes once it is written. Without write-behind, the save is written before this
+     * returns.
+     */
+    public CompletableFuture<WizardDataResponse> submitWizardData(WizardDataRequest request) {
+        if (saveBuffer == null) {
+            return CompletableFuture.completedFuture(writeWizard(request));
+        }
+        return saveBuffer.submit(request);
+    }
+    
+    private WizardDataResponse writeWizard(WizardDataRequest request) {
+        return wizardWriteTemplate.execute(status ->
+                writeWizard(eventJdbcRepository.upsertWizard(createEventFromRequest(request)), request));
+    }
+    
+    private WizardDataResponse writeWizard(Event event, WizardDataRequest request) {
+        TaskService.SyncResult tasks = taskService.syncTasks(event.getId(),
+                objectMapper.valueToTree(listOrEmpty(request.getTasks())));
+        event.setTasks(taskService.toJson(tasks.tasks()));
+        importEngine.forgetRows(eventImportSchema, List.of(event.getEventName()));
+        wizardResponseCache.invalidate(event.getId());
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.EVENT, event.getId());
+        return convertToResponse(event);
+    }
+    
+    private class BufferedWizardStore implements WizardSaveBuffer.Store {
+        @Override
+        public EventVersion find(String eventName) {
+            return eventRepository.findVersionByEventName(eventName).orElse(null);
+        }
+        
+        @Override
+        public WizardDataResponse write(WizardDataRequest request, Long expectedVersion) {
+            return wizardWriteTemplate.execute(status -> eventJdbcRepository
+                    .upsertWizard(createEventFromRequest(request), expectedVersion)
+                    .map(event -> writeWizard(event, request))
+                    .orElse(null));
+        }
+    }
+    
+    /**
+     * Applies an RFC 6902 JSON Patch to a wizard document, whose members are the fields of
+     * {@link WizardDataResponse} other than the name, id, timestamps and version. Only the JSON
+     * documents the patch touches are parsed and rewritten. When {@code expectedVersion} is given
+     * and the event has moved past it, the patch is rejected instead of overwriting the newer state.
+     */
+    @Transactional
+    public WizardPatchResponse patchWizardData(String eventName, JsonNode patchDocument, Long expectedVersion) {
+        JsonPatch patch = JsonPatch.parse(patchDocument);
+        Set<String> members = patch.rootMembers();
+        for (String member : members) {
+            if (!PATCHABLE_FIELDS.contains(member)) {
+                throw new InvalidPatchException("Wizard field '" + member + "' cannot be patched");
+            }
+        }
         
-        Event event;
-        if (existing.isPresent()) {
-            event = existing.get();
-            updateEventFromRequest(event, request);
-        } else {
-            event = createEventFromRequest(request);
+        if (saveBuffer != null) {
+            saveBuffer.flush(eventName);
+        }
+        Event event = eventRepository.findByEventName(eventName)
+                .orElseThrow(() -> new RuntimeException("Wizard data not found"));
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PatchConflictException("Wizard data was changed by another editor", event.getVersion());
         }
         
-        event = eventRepository.save(event);
-        return convertToResponse(event);
+        if (members.contains("tasks")) {
+            loadTasks(List.of(event));
+        }
+        ObjectNode document = objectMapper.createObjectNode();
+        for (String member : members) {
+            document.set(member, readWizardField(event, member));
+        }
+        try {
+            patch.apply(document);
+        } catch (PatchConflictException e) {
+            throw new PatchConflictException(e.getMessage(), event.getVersion());
+        }
+        for (String member : patch.modifiedMembers()) {
+            writeWizardField(event, member, document.get(member));
+        }
+        
+        event = eventRepository.saveAndFlush(event);
+        importEngine.forgetRows(eventImportSchema, List.of(eventName));
+        wizardResponseCache.invalidate(event.getId());
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.EVENT, event.getId());
+        return new WizardPatchResponse(event.getEventName(), event.getVersion(), event.getUpdatedAt());
+    }
+    
+    /**
+     * Task rows live outside the event row, so a task change touches the event to move its version
+     * and timestamp on, which is what cached responses and {@code If-Match} checks go by.
+     */
+    private static void markTasksChanged(Event event) {
+        event.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    private static List<?> listOrEmpty(List<?> list) {
+        return list != null ? list : List.of();
+    }
+    
+    private JsonNode readWizardField(Event event, String field) {
+        return switch (field) {
+            case "eventInfo" -> objectMapper.getNodeFactory().textNode(event.getEventInfo());
+            case "startDate" -> objectMapper.getNodeFactory().textNode(event.getStartDate());
+            case "endDate" -> objectMapper.getNodeFactory().textNode(event.getEndDate());
+            case "eventDate" -> objectMapper.getNodeFactory().textNode(event.getEventDate());
+            case "currentStep" -> objectMapper.getNodeFactory().numberNode(event.getCurrentStep());
+            case "tasks" -> readJsonDocument(event.getTasks());
+            case "assignedMembers" -> readJsonDocument(event.getAssignedMembers());
+            default -> readJsonDocument(event.getCompletedSteps());
+        };
+    }
+    
+    private JsonNode readJsonDocument(String json) {
+        try {
+            if (json == null || json.isEmpty()) {
+                return objectMapper.createArrayNode();
+            }
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            return objectMapper.createArrayNode();
+        }
+    }
+    
+    /**
+     * Writes a patched field back. A removed field is cleared: text fields become null, lists
+     * become empty and the current step goes back to 1.
+     */
+    private void writeWizardField(Event event, String field, JsonNode value) {
+        boolean missing = value == null || value.isNull();
+        switch (field) {
+            case "eventInfo" -> event.setEventInfo(missing ? null : patchedText(field, value));
+            case "startDate" -> event.setStartDate(missing ? null : patchedText(field, value));
+            case "endDate" -> event.setEndDate(missing ? null : patchedText(field, value));
+            case "eventDate" -> event.setEventDate(missing ? null : patchedText(field, value));
+            case "currentStep" -> {
+                if (!missing && !value.canConvertToInt()) {
+                    throw new InvalidPatchException("Wizard field 'currentStep' must be a number");
+                }
+                event.setCurrentStep(missing ? 1 : value.intValue());
+            }
+            case "tasks" -> {
+                patchedList(field, value);
+                if (taskService.syncTasks(event.getId(), missing ? objectMapper.createArrayNode() : value).changed()) {
+                    markTasksChanged(event);
+                }
+            }
+            case "assignedMembers" -> event.setAssignedMembers(patchedList(field, value));
+            default -> event.setCompletedSteps(patchedList(field, value));
+        }
+    }
+    
+    private static String patchedText(String field, JsonNode value) {
+        if (!value.isTextual()) {
+            throw new InvalidPatchException("Wizard field '" + field + "' must be a string");
+        }
+        return value.asText();
     }
     
+    private String patchedList(String field, JsonNode value) {
+        if (value != null && !value.isNull() && !value.isArray()) {
+            throw new InvalidPatchException("Wizard field '" + field + "' must be an array");
+        }
+        if (field.equals("completedSteps") && value != null) {
+            for (JsonNode step : value) {
+                if (!step.canConvertToInt()) {
+                    throw new InvalidPatchException("Wizard field 'completedSteps' must hold step numbers");
+                }
+            }
+        }
+        return convertToJsonString(value != null && !value.isNull() ? value : List.of());
+    }
+    
+    /**
+     * Reads the event's version first and only loads and parses the event when the cached
+     * response is missing or older. The event and its tasks are read in one repeatable-read
+     * transaction, and the response is cached under the version that transaction saw.
+     */
     public WizardDataResponse getWizardData(String eventName) {
-        Event event = eventRepository.findByEventName(eventName)
+        EventVersion version = eventRepository.findVersionByEventName(eventName)
                 .orElseThrow(() -> new RuntimeException("Wizard data not found"));
-        return convertToResponse(event);
+        WizardDataResponse cached = wizardResponseCache.get(version.getId(), version.getVersion());
+        if (cached != null) {
+            return cached;
+        }
+        
+        Event event = wizardReadTemplate.execute(status -> {
+            Event found = eventRepository.findById(version.getId())
+                    .orElseThrow(() -> new RuntimeException("Wizard data not found"));
+            loadTasks(List.of(found));
+            return found;
+        });
+        return cacheResponse(event);
     }
     
+    /**
+     * Lists every wizard, loading only the events whose cached response is missing or older.
+     */
     public List<WizardDataResponse> getAllWizards() {
-        return eventRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .sorted((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()))
-                .toList();
+        List<WizardDataResponse> responses = new ArrayList<>();
+        List<Long> misses = new ArrayList<>();
+        for (EventVersion version : eventRepository.findAllVersions()) {
+            WizardDataResponse cached = wizardResponseCache.get(version.getId(), version.getVersion());
+            if (cached != null) {
+                responses.add(cached);
+            } else {
+                misses.add(version.getId());
+            }
+        }
+        for (int from = 0; from < misses.size(); from += WIZARD_LOAD_BATCH_SIZE) {
+            List<Long> ids = misses.subList(from, Math.min(from + WIZARD_LOAD_BATCH_SIZE, misses.size()));
+            List<Event> events = wizardReadTemplate.execute(status -> {
+                List<Event> found = eventRepository.findAllById(ids);
+                loadTasks(found);
+                return found;
+            });
+            for (Event event : events) {
+                responses.add(cacheResponse(event));
+            }
+        }
+        
+        responses.sort((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()));
+        return responses;
+    }
+    
+    /**
+     * Pages through wizard summaries, most recently updated first. The cursor is the one returned
+     * with the previous page, or null for the first page.
+     */
+    public PageResponse<WizardSummary> getWizardSummaries(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SUMMARY_PAGE_SIZE));
+        LocalDateTime afterUpdatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = SeekCursor.decode(cursor, 2);
+            try {
+                afterUpdatedAt = LocalDateTime.parse(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+        
+        // One extra row tells whether there is a next page
+        List<WizardSummary> summaries = eventJdbcRepository.findSummaries(afterUpdatedAt, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            WizardSummary last = summaries.get(pageSize - 1);
+            nextCursor = SeekCursor.encode(last.getUpdatedAt(), last.getId());
+        }
+        return new PageResponse<>(summaries, nextCursor);
     }
     
+    /**
+     * Searches event names, info and task titles. Every word of {@code query} must match, each as
+     * a prefix, so results narrow as the user types. Best matches come first; pages continue from
+     * an opaque cursor like the summary listing.
+     */
+    public PageResponse<EventSearchHit> searchEvents(String query, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SUMMARY_PAGE_SIZE));
+        String tsQuery = toPrefixQuery(query);
+        if (tsQuery == null) {
+            return new PageResponse<>(List.of(), null);
+        }
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = SeekCursor.decode(cursor, 2);
+            try {
+                afterRank = Float.parseFloat(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+        
+        List<EventSearchHit> hits = eventJdbcRepository.search(tsQuery, afterRank, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            EventSearchHit last = hits.get(pageSize - 1);
+            nextCursor = SeekCursor.encode(last.getRank(), last.getId());
+        }
+        return new PageResponse<>(hits, nextCursor);
+    }
+    
+    /**
+     * Turns free text into a {@code to_tsquery} expression of prefix terms joined with AND.
+     * Only letters and digits are kept, so user input can never be tsquery syntax. Returns null
+     * when nothing searchable is left.
+     */
+    private static String toPrefixQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringJoiner terms = new StringJoiner(" & ");
+        int count = 0;
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && count++ < MAX_SEARCH_TERMS) {
+                terms.add(word + ":*");
+            }
+        }
+        return count > 0 ? terms.toString() : null;
+    }
+    
+    /**
+     * Sets the task lists of loaded events, read from the task rows in one query.
+     */
+    private void loadTasks(List<Event> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        Map<Long, String> taskLists = eventJdbcRepository.findTaskLists(ids);
+        for (Event event : events) {
+            event.setTasks(taskLists.getOrDefault(event.getId(), "[]"));
+        }
+    }
+    
+    private WizardDataResponse cacheResponse(Event event) {
+        WizardDataResponse response = convertToResponse(event);
+        wizardResponseCache.put(event, response);
+        return response;
+    }
+    
+    @Transactional
     public void deleteWizardData(String eventName) {
+        // Pending saves are written first, so their senders get an answer
+        if (saveBuffer != null) {
+            saveBuffer.flush(eventName);
+        }
         Event event = eventRepository.findByEventName(eventName)
                 .orElseThrow(() -> new RuntimeException("Wizard data not found"));
         eventRepository.delete(event);
+        importEngine.forgetRows(eventImportSchema, List.of(eventName));
+        wizardResponseCache.invalidate(event.getId());
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.EVENT, event.getId());
     }
     
     @Transactional
@@ -85,24 +535,12 @@ public class EventService {
         event.setStartDate(request.getStartDate());
         event.setEndDate(request.getEndDate());
         event.setEventDate(request.getEventDate());
-        event.setTasks(convertToJsonString(request.getTasks()));
         event.setAssignedMembers(convertToJsonString(request.getAssignedMembers()));
         event.setCurrentStep(request.getCurrentStep() != null ? request.getCurrentStep() : 1);
         event.setCompletedSteps(convertToJsonString(request.getCompletedSteps()));
         return event;
     }
     
-    private void updateEventFromRequest(Event event, WizardDataRequest request) {
-        event.setEventInfo(request.getEventInfo());
-        event.setStartDate(request.getStartDate());
-        event.setEndDate(request.getEndDate());
-        event.setEventDate(request.getEventDate());
-        event.setTasks(convertToJsonString(request.getTasks()));
-        event.setAssignedMembers(convertToJsonString(request.getAssignedMembers()));
-        event.setCurrentStep(request.getCurrentStep() != null ? request.getCurrentStep() : 1);
-        event.setCompletedSteps(convertToJsonString(request.getCompletedSteps()));
-    }
-    
     private WizardDataResponse convertToResponse(Event event) {
         WizardDataResponse response = new WizardDataResponse();
         response.setId(event.getId());
@@ -111,10 +549,11 @@ public class EventService {
         response.setStartDate(event.getStartDate());
         response.setEndDate(event.getEndDate());
         response.setEventDate(event.getEventDate());
-        response.setTasks(convertFromJsonString(event.getTasks()));
-        response.setAssignedMembers(convertFromJsonString(event.getAssignedMembers()));
+        response.setTasks(rawJsonOrEmpty(event.getTasks()));
+        response.setAssignedMembers(rawJsonOrEmpty(event.getAssignedMembers()));
         response.setCurrentStep(event.getCurrentStep());
-        response.setCompletedSteps(convertFromJsonStringToIntList(event.getCompletedSteps()));
+        response.setCompletedSteps(rawJsonOrEmpty(event.getCompletedSteps()));
+        response.setVersion(event.getVersion());
         response.setCreatedAt(event.getCreatedAt());
         response.setUpdatedAt(event.getUpdatedAt());
         return response;
@@ -131,30 +570,63 @@ public class EventService {
         }
     }
     
-    private List<Object> convertFromJsonString(String json) {
-        try {
-            if (json == null || json.isEmpty()) {
-                return List.of();
-            }
-            return objectMapper.readValue(json, new TypeReference<List<Object>>() {});
-        } catch (Exception e) {
-            return List.of();
+    /**
+     * Stored JSON documents go into responses as-is. The columns are jsonb, so the text is always
+     * valid JSON; a missing document reads as an empty list, as before.
+     */
+    private static String rawJsonOrEmpty(String json) {
+        return json == null || json.isEmpty() ? "[]" : json;
+    }
+    
+    /**
+     * Fails with an {@link ExportValueTooLongException} when an event has a value too long for
+     * the format, such as a task list past Excel's cell limit. Called before an export starts
+     * streaming, while the request can still be answered with an error.
+     */
+    @Transactional(readOnly = true)
+    public void checkExportable(ExportFormat format) {
+        if (!format.limitsTextLength()) {
+            return;
         }
+        eventJdbcRepository.findFirstWithValueLongerThan(format.maxTextLength()).ifPresent(eventName -> {
+            throw new ExportValueTooLongException(String.format(
+                    "Event '%s' has a value longer than the %d characters an Excel cell holds; export as csv or json instead",
+                    eventName, format.maxTextLength()));
+        });
     }
     
-    private List<Integer> convertFromJsonStringToIntList(String json) {
-        try {
-            if (json == null || json.isEmpty()) {
-                return List.of();
-            }
-            return objectMapper.readValue(json, new TypeReference<List<Integer>>() {});
-        } catch (Exception e) {
-            return List.of();
+    /**
+     * Streams every event to {@code out} in the given format, reading them through a database
+     * cursor. Tasks, members and completed steps are written as the stored JSON; task lists
+     * are read for a batch of events at a time.
+     */
+    @Transactional(readOnly = true)
+    public void exportEvents(ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting events as {}", format);
+        
+        try (Stream<Event> events = eventRepository.streamAllForExport();
+             ExportWriter<Event> writer = tableExporter.open(format, EXPORT_COLUMNS, "Events", out)) {
+            List<Event> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            events.forEach(event -> {
+                batch.add(event);
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    writeExportBatch(batch, writer);
+                }
+            });
+            writeExportBatch(batch, writer);
         }
     }
     
-    @Transactional
-    public ImportEventsResponse importEvents(MultipartFile file) {
+    private void writeExportBatch(List<Event> batch, ExportWriter<Event> writer) {
+        loadTasks(batch);
+        for (Event event : batch) {
+            writer.write(event);
+            entityManager.detach(event);
+        }
+        batch.clear();
+    }
+    
+    public ImportEventsResponse importEvents(MultipartFile file, ImportOptions options) {
         log.info("Importing events from file: {}", file.getOriginalFilename());
         
         String fileName = file.getOriginalFilename();
@@ -162,27 +634,19 @@ public class EventService {
             throw new RuntimeException("File name is required");
         }
         
-        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
-        
         try {
-            List<Map<String, Object>> eventsData;
+            ImportResult<WizardDataResponse> result = importEvents(ImportSource.of(file), new ImportResult<>(), options);
             
-            switch (extension) {
-                case "json":
-                    eventsData = parseJsonFile(file);
-                    break;
-                case "csv":
-                    eventsData = parseCsvFile(file);
-                    break;
-                case "xlsx":
-                case "xls":
-                    eventsData = parseExcelFile(file, extension);
-                    break;
-                default:
-                    throw new RuntimeException("Unsupported file format: " + extension + ". Supported formats: JSON, CSV, Excel");
-            }
-            
-            return processEventImport(eventsData);
+            ImportEventsResponse response = new ImportEventsResponse(
+                result.getTotalProcessed(),
+                result.getSuccessful(),
+                result.getFailed(),
+                result.getErrors(),
+                result.getImported()
+            );
+            response.setSkipped(result.getSkipped());
+            response.setCached(result.isCached());
+            return response;
             
         } catch (Exception e) {
             log.error("Error importing events", e);
@@ -190,295 +654,80 @@ public class EventService {
         }
     }
     
-    private List<Map<String, Object>> parseJsonFile(MultipartFile file) throws Exception {
-        String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-        return objectMapper.readValue(content, new TypeReference<List<Map<String, Object>>>() {});
+    /**
+     * Imports from any source, recording progress into {@code result} as chunks commit.
+     * {@code options.mode()} selects per-row saves or COPY; null uses {@code import.mode}.
+     */
+    public ImportResult<WizardDataResponse> importEvents(ImportSource source, ImportResult<WizardDataResponse> result,
+                                                         ImportOptions options) throws Exception {
+        ChunkWriter<CreateEventRequest, WizardDataResponse> writer =
+                importEngine.resolveMode(options.mode()) == ImportMode.COPY ? this::copyImportChunk : this::writeImportChunk;
+        return importEngine.run(source, eventImportSchema, eventNameKey(), writer, WizardDataResponse.class,
+                result, options);
     }
     
-    private List<Map<String, Object>> parseCsvFile(MultipartFile file) throws Exception {
-        List<Map<String, Object>> events = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                throw new RuntimeException("CSV file is empty");
-            }
-            
-            String[] headers = parseCsvLine(headerLine);
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                
-                String[] values = parseCsvLine(line);
-                Map<String, Object> event = new HashMap<>();
-                
-                for (int i = 0; i < headers.length && i < values.length; i++) {
-                    String header = headers[i].trim();
-                    String value = values[i].trim();
-                    
-                    String normalizedHeader = normalizeEventHeader(header);
-                    if (!normalizedHeader.isEmpty() && !value.isEmpty()) {
-                        event.put(normalizedHeader, value);
-                    }
-                }
-                
-                if (!event.isEmpty()) {
-                    events.add(event);
-                }
-            }
-        }
-        
-        return events;
+    private UniqueKey<CreateEventRequest> eventNameKey() {
+        return new UniqueKey<>(
+            CreateEventRequest::getEventName,
+            eventRepository::findExistingEventNames,
+            eventName -> "Event with name '" + eventName + "' already exists"
+        );
     }
     
-    private String[] parseCsvLine(String line) {
-        List<String> values = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    current.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                values.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
+    private List<RowResult<WizardDataResponse>> writeImportChunk(List<ImportRow<CreateEventRequest>> rows) {
+        List<Event> events = new ArrayList<>(rows.size());
+        for (ImportRow<CreateEventRequest> row : rows) {
+            events.add(mapToEvent(row.request()));
         }
-        values.add(current.toString());
-        
-        return values.toArray(new String[0]);
-    }
-    
-    private String normalizeEventHeader(String header) {
-        String lower = header.toLowerCase().trim();
-        
-        if (lower.contains("event") && lower.contains("name")) return "eventName";
-        if (lower.contains("event") && lower.contains("info")) return "eventInfo";
-        if (lower.contains("start") && lower.contains("date")) return "startDate";
-        if (lower.contains("end") && lower.contains("date")) return "endDate";
-        if (lower.contains("event") && lower.contains("date") && !lower.contains("start") && !lower.contains("end")) return "eventDate";
-        if (lower.contains("status")) return "status";
-        if (lower.contains("task")) return "tasks";
-        if (lower.contains("assigned") || lower.contains("member")) return "assignedMembers";
-        if (lower.contains("step")) return "currentStep";
-        if (lower.contains("completed")) return "completedSteps";
-        
-        return "";
-    }
-    
-    private List<Map<String, Object>> parseExcelFile(MultipartFile file, String extension) throws Exception {
-        List<Map<String, Object>> events = new ArrayList<>();
         
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = extension.equals("xlsx") 
-                 ? new XSSFWorkbook(is) 
-                 : new HSSFWorkbook(is)) {
-            
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet.getPhysicalNumberOfRows() < 2) {
-                throw new RuntimeException("Excel file must have at least a header row and one data row");
-            }
-            
-            Row headerRow = sheet.getRow(0);
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(getCellValueAsString(cell));
-            }
-            
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-                
-                Map<String, Object> event = new HashMap<>();
-                boolean hasData = false;
-                
-                for (int j = 0; j < headers.size() && j < row.getLastCellNum(); j++) {
-                    Cell cell = row.getCell(j);
-                    String header = headers.get(j);
-                    String value = getCellValueAsString(cell);
-                    
-                    String normalizedHeader = normalizeEventHeader(header);
-                    if (!normalizedHeader.isEmpty() && !value.isEmpty()) {
-                        event.put(normalizedHeader, value);
-                        hasData = true;
-                    }
-                }
-                
-                if (hasData) {
-                    events.add(event);
-                }
-            }
+        List<Event> saved = eventRepository.saveAll(events);
+        Map<Long, JsonNode> tasksByEvent = new HashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            tasksByEvent.put(saved.get(i).getId(), objectMapper.valueToTree(listOrEmpty(rows.get(i).request().getTasks())));
         }
+        taskService.insertTasks(tasksByEvent);
         
-        return events;
-    }
-    
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-        
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    double numValue = cell.getNumericCellValue();
-                    if (numValue == (long) numValue) {
-                        return String.valueOf((long) numValue);
-                    } else {
-                        return String.valueOf(numValue);
-                    }
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
+        List<RowResult<WizardDataResponse>> results = new ArrayList<>(rows.size());
+        for (Event event : saved) {
+            results.add(RowResult.imported(convertToResponse(event)));
         }
+        return results;
     }
     
-    @Transactional
-    private ImportEventsResponse processEventImport(List<Map<String, Object>> eventsData) {
-        List<String> errors = new ArrayList<>();
-        List<WizardDataResponse> importedEvents = new ArrayList<>();
-        int successful = 0;
-        int failed = 0;
-        
-        for (int i = 0; i < eventsData.size(); i++) {
-            Map<String, Object> eventData = eventsData.get(i);
-            int rowNumber = i + 1;
-            
-            try {
-                // Validate and convert to CreateEventRequest
-                CreateEventRequest request = mapToCreateEventRequest(eventData);
-                
-                // Check for duplicate event name
-                if (eventRepository.findByEventName(request.getEventName()).isPresent()) {
-                    errors.add("Row " + rowNumber + ": Event with name '" + request.getEventName() + "' already exists");
-                    failed++;
-                    continue;
-                }
-                
-                // Create event
-                Event event = mapToEvent(request);
-                Event saved = eventRepository.save(event);
-                importedEvents.add(convertToResponse(saved));
-                successful++;
-                
-            } catch (Exception e) {
-                errors.add("Row " + rowNumber + ": " + e.getMessage());
-                failed++;
-                log.error("Error processing event at row {}", rowNumber, e);
-            }
+    /**
+     * Writes one import chunk with COPY into a staging table and a single merge insert. Rows
+     * the merge skipped on the event name constraint, such as ones inserted concurrently since
+     * the duplicate check, are reported as duplicates.
+     */
+    private List<RowResult<WizardDataResponse>> copyImportChunk(List<ImportRow<CreateEventRequest>> rows) {
+        List<Event> events = new ArrayList<>(rows.size());
+        for (ImportRow<CreateEventRequest> row : rows) {
+            events.add(mapToEvent(row.request()));
         }
-        
-        return new ImportEventsResponse(
-            eventsData.size(),
-            successful,
-            failed,
-            errors,
-            importedEvents
-        );
-    }
-    
-    private CreateEventRequest mapToCreateEventRequest(Map<String, Object> data) {
-        CreateEventRequest request = new CreateEventRequest();
-        
-        request.setEventName(getStringValue(data, "eventName", "event_name", "Event Name", "name"));
-        request.setEventInfo(getStringValue(data, "eventInfo", "event_info", "Event Info", "info", "description"));
-        request.setStartDate(getStringValue(data, "startDate", "start_date", "Start Date"));
-        request.setEndDate(getStringValue(data, "endDate", "end_date", "End Date"));
-        request.setEventDate(getStringValue(data, "eventDate", "event_date", "Event Date"));
-        request.setStatus(getStringValue(data, "status", "Status"));
-        
-        // Handle tasks (can be JSON string or array)
-        Object tasksObj = data.get("tasks");
-        if (tasksObj != null) {
-            if (tasksObj instanceof String) {
-                try {
-                    request.setTasks(objectMapper.readValue((String) tasksObj, new TypeReference<List<Object>>() {}));
-                } catch (Exception e) {
-                    request.setTasks(List.of());
-                }
-            } else if (tasksObj instanceof List) {
-                request.setTasks((List<Object>) tasksObj);
-            }
+        Map<String, Event> inserted = new HashMap<>();
+        for (Event event : eventJdbcRepository.copyInsert(events)) {
+            inserted.put(event.getEventName(), event);
         }
-        
-        // Handle assignedMembers
-        Object membersObj = data.get("assignedMembers");
-        if (membersObj != null) {
-            if (membersObj instanceof String) {
-                try {
-                    request.setAssignedMembers(objectMapper.readValue((String) membersObj, new TypeReference<List<Object>>() {}));
-                } catch (Exception e) {
-                    request.setAssignedMembers(List.of());
-                }
-            } else if (membersObj instanceof List) {
-                request.setAssignedMembers((List<Object>) membersObj);
+        Map<Long, JsonNode> tasksByEvent = new HashMap<>();
+        for (ImportRow<CreateEventRequest> row : rows) {
+            Event event = inserted.get(row.request().getEventName());
+            if (event != null) {
+                // The response echoes the imported tasks; the returned row has no task list
+                event.setTasks(convertToJsonString(row.request().getTasks()));
+                tasksByEvent.put(event.getId(), objectMapper.valueToTree(listOrEmpty(row.request().getTasks())));
             }
         }
+        taskService.insertTasks(tasksByEvent);
         
-        // Handle currentStep
-        Object stepObj = data.get("currentStep");
-        if (stepObj != null) {
-            if (stepObj instanceof Number) {
-                request.setCurrentStep(((Number) stepObj).intValue());
-            } else if (stepObj instanceof String) {
-                try {
-                    request.setCurrentStep(Integer.parseInt((String) stepObj));
-                } catch (NumberFormatException e) {
-                    request.setCurrentStep(1);
-                }
-            }
-        } else {
-            request.setCurrentStep(1);
-        }
-        
-        // Handle completedSteps
-        Object completedObj = data.get("completedSteps");
-        if (completedObj != null) {
-            if (completedObj instanceof String) {
-                try {
-                    request.setCompletedSteps(objectMapper.readValue((String) completedObj, new TypeReference<List<Integer>>() {}));
-                } catch (Exception e) {
-                    request.setCompletedSteps(List.of());
-                }
-            } else if (completedObj instanceof List) {
-                request.setCompletedSteps((List<Integer>) completedObj);
-            }
-        }
-        
-        // Validate required fields
-        if (request.getEventName() == null || request.getEventName().trim().isEmpty()) {
-            throw new RuntimeException("Event name is required");
-        }
-        
-        return request;
-    }
-    
-    private String getStringValue(Map<String, Object> data, String... keys) {
-        for (String key : keys) {
-            Object value = data.get(key);
-            if (value != null) {
-                return value.toString().trim();
-            }
+        List<RowResult<WizardDataResponse>> results = new ArrayList<>(rows.size());
+        for (ImportRow<CreateEventRequest> row : rows) {
+            String eventName = row.request().getEventName();
+            Event event = inserted.remove(eventName);
+            results.add(event != null
+                    ? RowResult.imported(convertToResponse(event))
+                    : RowResult.failed("Event with name '" + eventName + "' already exists"));
         }
-        return null;
+        return results;
     }
     
     private Event mapToEvent(CreateEventRequest request) {
@@ -0,0 +1,172 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.ImportJobResponse;
+import com.vibeworks.planning.importer.ImportJob;
+import com.vibeworks.planning.importer.ImportResult;
+import com.vibeworks.planning.importer.ImportSource;
+import com.vibeworks.planning.util.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs imports in the background on a bounded pool so large files don't tie up servlet threads.
+ * At most {@code import.jobs.max-concurrent} imports run at once, which also caps the database
+ * connections imports can hold; further jobs wait in a queue of {@code import.jobs.queue-capacity}
+ * and are rejected beyond that. A job reports at most {@code import.jobs.max-errors} row errors,
+ * since it is polled while it runs.
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+    
+    @FunctionalInterface
+    public interface ImportTask<R> {
+        ImportResult<R> run(ImportSource source, ImportResult<R> result) throws Exception;
+    }
+    
+    @Value("${import.jobs.max-concurrent:2}")
+    private int maxConcurrent;
+    
+    @Value("${import.jobs.queue-capacity:20}")
+    private int queueCapacity;
+    
+    @Value("${import.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+    
+    @Value("${import.jobs.max-errors:1000}")
+    private int maxErrors;
+    
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor executor;
+    
+    @PostConstruct
+    void startExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        executor.initialize();
+    }
+    
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+    
+    public <R> ImportJobResponse submit(String type, MultipartFile file, ImportTask<R> task) {
+        String fileName = file.getOriginalFilename();
+        if (fileName == null) {
+            throw new RuntimeException("File name is required");
+        }
+        
+        // The multipart upload is cleaned up when the request ends, so keep our own copy
+        Path upload = spool(file);
+        try {
+            return submit(type, fileName, upload, task);
+        } catch (TaskRejectedException e) {
+            deleteQuietly(upload);
+            throw e;
+        }
+    }
+    
+    /**
+     * Queues an import of a local file. Once queued, the job owns {@code upload} and deletes it
+     * when it finishes; if the queue is full the file is left to the caller.
+     */
+    public <R> ImportJobResponse submit(String type, String fileName, Path upload, ImportTask<R> task) {
+        purgeExpiredJobs();
+        
+        ImportResult<R> result = ImportResult.countsOnly(maxErrors);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), type, fileName, result);
+        
+        executor.execute(() -> runJob(job, ImportSource.of(fileName, upload), result, task, upload));
+        
+        jobs.put(job.getId(), job);
+        log.info("Queued {} import job {} for file {}", type, job.getId(), fileName);
+        return toResponse(job);
+    }
+    
+    public ImportJobResponse getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job " + jobId + " not found");
+        }
+        return toResponse(job);
+    }
+    
+    private <R> void runJob(ImportJob job, ImportSource source, ImportResult<R> result, ImportTask<R> task, Path upload) {
+        job.markRunning();
+        try {
+            task.run(source, result);
+            job.markCompleted();
+            log.info("Import job {} completed: {} successful, {} failed",
+                    job.getId(), result.getSuccessful(), result.getFailed());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+    
+    private Path spool(MultipartFile file) {
+        try {
+            Path upload = Files.createTempFile("import-job-", ".upload");
+            try (InputStream is = file.getInputStream()) {
+                Files.copy(is, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return upload;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to store upload: " + e.getMessage(), e);
+        }
+    }
+    
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            log.warn("Could not delete temporary import file {}", path, e);
+        }
+    }
+    
+    private ImportJobResponse toResponse(ImportJob job) {
+        ImportResult<?> result = job.getResult();
+        return new ImportJobResponse(
+            job.getId(),
+            job.getType(),
+            job.getFileName(),
+            job.getStatus().name(),
+            result.getTotalProcessed(),
+            result.getSuccessful(),
+            result.getFailed(),
+            result.getSkipped(),
+            result.getErrors(),
+            job.getMessage(),
+            result.isCached(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,359 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.model.Member;
+import com.vibeworks.planning.repository.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the member table for the read paths. Readers get a snapshot, indexed by id
+ * and type, through a single volatile read and never lock. Writers take turns: each updates the
+ * id index in place and publishes new copies of the lists its changes touch, with each member
+ * moved in or out at its position found by binary search, so a write costs a copy of those lists
+ * rather than a re-sort of the directory. Large batches re-sort instead, which is cheaper than
+ * many single moves. A reader may find a member by id a moment before the lists show it.
+ *
+ * <p>The snapshot is loaded on first use. Directories larger than
+ * {@code members.directory-cache.max-members} are not cached, and reads fall back to the
+ * database. A cached member takes about 1 KB of heap across the indexes, so the limit should be
+ * sized to the heap: the default of 200000 takes about 200 MB, and a table of 1.4 million
+ * members needs about 1.4 GB. Changes made inside a transaction are applied once it commits, so
+ * readers never see rolled-back writes. Changes made by other instances arrive through the
+ * {@link CacheInvalidationBus}.
+ *
+ * <p>Metrics: {@code member.directory.requests} tagged {@code result=hit|miss},
+ * {@code member.directory.rebuild} timing each snapshot build tagged {@code cause=load|update},
+ * and the {@code member.directory.size} gauge.
+ */
+@Component
+@Slf4j
+public class MemberDirectory {
+    
+    // Same order as the member list endpoint: newest first
+    private static final Comparator<MemberResponse> LIST_ORDER =
+            Comparator.comparing(MemberResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(MemberResponse::getId, Comparator.reverseOrder());
+    
+    // Past this many changes one sort costs less than moving each member in the lists
+    private static final int INCREMENTAL_UPDATE_LIMIT = 64;
+    
+    /**
+     * The lists are immutable; {@code byId} is shared between snapshots and written in place,
+     * only under the write lock.
+     */
+    private record Snapshot(ConcurrentHashMap<Long, MemberResponse> byId, Map<String, List<MemberResponse>> byType,
+                            List<MemberResponse> all) {
+        
+        static Snapshot of(ConcurrentHashMap<Long, MemberResponse> byId) {
+            List<MemberResponse> all = new ArrayList<>(byId.values());
+            all.sort(LIST_ORDER);
+            Map<String, List<MemberResponse>> byType = all.stream()
+                    .collect(Collectors.groupingBy(member -> typeKey(member.getType()),
+                            Collectors.collectingAndThen(Collectors.toList(), List::copyOf)));
+            return new Snapshot(byId, Map.copyOf(byType), List.copyOf(all));
+        }
+        
+        /**
+         * Applies changes, a member id to its new copy or to null when it was removed, and
+         * returns the snapshot that shows them.
+         */
+        Snapshot with(Map<Long, MemberResponse> changes) {
+            if (changes.size() > INCREMENTAL_UPDATE_LIMIT) {
+                writeIds(changes);
+                return of(byId);
+            }
+            
+            List<MemberResponse> all = new ArrayList<>(this.all);
+            Map<String, List<MemberResponse>> byType = new HashMap<>(this.byType);
+            Map<String, List<MemberResponse>> copiedTypes = new HashMap<>();
+            Function<MemberResponse, List<MemberResponse>> typeList = member -> copiedTypes.computeIfAbsent(
+                    typeKey(member.getType()), type -> new ArrayList<>(byType.getOrDefault(type, List.of())));
+            changes.forEach((id, member) -> {
+                MemberResponse previous = byId.get(id);
+                if (previous != null) {
+                    removeSorted(all, previous);
+                    removeSorted(typeList.apply(previous), previous);
+                }
+                if (member != null) {
+                    insertSorted(all, member);
+                    insertSorted(typeList.apply(member), member);
+                }
+            });
+            copiedTypes.forEach((type, members) -> {
+                if (members.isEmpty()) {
+                    byType.remove(type);
+                } else {
+                    byType.put(type, Collections.unmodifiableList(members));
+                }
+            });
+            
+            writeIds(changes);
+            return new Snapshot(byId, Map.copyOf(byType), Collections.unmodifiableList(all));
+        }
+        
+        private void writeIds(Map<Long, MemberResponse> changes) {
+            changes.forEach((id, member) -> {
+                if (member == null) {
+                    byId.remove(id);
+                } else {
+                    byId.put(id, member);
+                }
+            });
+        }
+        
+        private static void removeSorted(List<MemberResponse> members, MemberResponse member) {
+            int index = Collections.binarySearch(members, member, LIST_ORDER);
+            if (index >= 0) {
+                members.remove(index);
+            }
+        }
+        
+        private static void insertSorted(List<MemberResponse> members, MemberResponse member) {
+            int index = Collections.binarySearch(members, member, LIST_ORDER);
+            if (index >= 0) {
+                members.set(index, member);
+            } else {
+                members.add(-index - 1, member);
+            }
+        }
+    }
+    
+    @Value("${members.directory-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${members.directory-cache.max-members:200000}")
+    private long maxMembers;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private volatile Snapshot snapshot;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long retryLoadAt;
+    
+    private Counter hits;
+    private Counter misses;
+    private Timer loadTimer;
+    private Timer updateTimer;
+    
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("member.directory.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("member.directory.requests").tag("result", "miss").register(meterRegistry);
+        loadTimer = Timer.builder("member.directory.rebuild").tag("cause", "load").register(meterRegistry);
+        updateTimer = Timer.builder("member.directory.rebuild").tag("cause", "update").register(meterRegistry);
+        Gauge.builder("member.directory.size", this, directory -> {
+            Snapshot current = directory.snapshot;
+            return current != null ? current.byId().size() : 0;
+        }).register(meterRegistry);
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.MEMBER, this::refresh, this::invalidate);
+    }
+    
+    /**
+     * All members, newest first, or null when the directory is not cached.
+     */
+    public List<MemberResponse> all() {
+        Snapshot current = current();
+        return current != null ? current.all() : null;
+    }
+    
+    /**
+     * Members of one type, newest first, or null when the directory is not cached.
+     */
+    public List<MemberResponse> byType(String type) {
+        Snapshot current = current();
+        return current != null ? current.byType().getOrDefault(typeKey(type), List.of()) : null;
+    }
+    
+    /**
+     * Looks a member up by id. Returns null when the directory is not cached and an empty
+     * result when it is cached and has no such member.
+     */
+    public Optional<MemberResponse> byId(Long id) {
+        Snapshot current = current();
+        return current != null ? Optional.ofNullable(current.byId().get(id)) : null;
+    }
+    
+    /**
+     * Adds or replaces members once the current transaction commits. A member older than the
+     * cached copy, by {@code updatedAt}, is ignored, so late writers cannot undo newer changes.
+     */
+    public void putAll(Collection<MemberResponse> members) {
+        if (!members.isEmpty()) {
+            List<MemberResponse> changed = List.copyOf(members);
+            afterCommit(() -> update(byId -> {
+                Map<Long, MemberResponse> changes = new HashMap<>();
+                for (MemberResponse member : changed) {
+                    if (isNotOlder(member, changes.getOrDefault(member.getId(), byId.get(member.getId())))) {
+                        changes.put(member.getId(), member);
+                    }
+                }
+                return changes;
+            }));
+        }
+    }
+    
+    public void put(MemberResponse member) {
+        putAll(List.of(member));
+    }
+    
+    /**
+     * Removes a member once the current transaction commits.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> update(byId -> {
+            Map<Long, MemberResponse> changes = new HashMap<>();
+            changes.put(id, null);
+            return changes;
+        }));
+    }
+    
+    /**
+     * Re-reads members another instance changed: members still in the database replace their
+     * cached copy, unless it is newer, and the others are removed.
+     */
+    public void refresh(Collection<Long> ids) {
+        // Loads hold the lock, so a snapshot that is still missing here will read the change
+        // itself, and one loaded before the change is re-read below
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                return;
+            }
+            Map<Long, MemberResponse> current = new HashMap<>();
+            for (Member member : memberRepository.findAllById(ids)) {
+                current.put(member.getId(), MemberService.mapToResponse(member));
+            }
+            update(byId -> {
+                Map<Long, MemberResponse> changes = new HashMap<>();
+                for (Long id : ids) {
+                    MemberResponse member = current.get(id);
+                    if (member == null || isNotOlder(member, byId.get(id))) {
+                        changes.put(id, member);
+                    }
+                }
+                return changes;
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Drops the snapshot; the next read loads a fresh one.
+     */
+    public void invalidate() {
+        writeLock.lock();
+        try {
+            snapshot = null;
+            retryLoadAt = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null && enabled && System.currentTimeMillis() >= retryLoadAt && writeLock.tryLock()) {
+            // One reader loads; the others read from the database meanwhile instead of waiting
+            try {
+                current = snapshot != null ? snapshot : load();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        (current != null ? hits : misses).increment();
+        return current;
+    }
+    
+    private Snapshot load() {
+        if (memberRepository.count() > maxMembers) {
+            log.warn("Member directory has more than {} members, reading members from the database", maxMembers);
+            retryLoadAt = System.currentTimeMillis() + 10 * 60 * 1000;
+            return null;
+        }
+        snapshot = loadTimer.record((Supplier<Snapshot>) () -> {
+            ConcurrentHashMap<Long, MemberResponse> byId = new ConcurrentHashMap<>();
+            for (Member member : memberRepository.findAll()) {
+                byId.put(member.getId(), MemberService.mapToResponse(member));
+            }
+            return Snapshot.of(byId);
+        });
+        log.info("Loaded member directory with {} members", snapshot.byId().size());
+        return snapshot;
+    }
+    
+    /**
+     * Applies the changes computed from the cached members by id: a member id to its new copy,
+     * or to null to remove it.
+     */
+    private void update(Function<Map<Long, MemberResponse>, Map<Long, MemberResponse>> change) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // Not loaded yet; the eventual load reads the change from the database
+                return;
+            }
+            Map<Long, MemberResponse> changes = change.apply(current.byId());
+            if (!changes.isEmpty()) {
+                snapshot = updateTimer.record((Supplier<Snapshot>) () -> current.with(changes));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private static boolean isNotOlder(MemberResponse member, MemberResponse cached) {
+        return cached == null || cached.getUpdatedAt() == null || member.getUpdatedAt() == null
+                || !member.getUpdatedAt().isBefore(cached.getUpdatedAt());
+    }
+    
+    private static String typeKey(String type) {
+        return type != null ? type.toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -1,117 +1,259 @@
 package com.vibeworks.planning.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vibeworks.planning.dto.CreateMemberRequest;
 import com.vibeworks.planning.dto.ImportMembersResponse;
 import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.dto.MemberSearchCriteria;
+import com.vibeworks.planning.dto.PageResponse;
+import com.vibeworks.planning.exporter.ExportColumn;
+import com.vibeworks.planning.exporter.ExportFormat;
+import com.vibeworks.planning.exporter.ExportWriter;
+import com.vibeworks.planning.exporter.TableExporter;
+import com.vibeworks.planning.importer.ChunkWriter;
+import com.vibeworks.planning.importer.ImportEngine;
+import com.vibeworks.planning.importer.ImportMode;
+import com.vibeworks.planning.importer.ImportOptions;
+import com.vibeworks.planning.importer.ImportResult;
+import com.vibeworks.planning.importer.ImportRow;
+import com.vibeworks.planning.importer.ImportSource;
+import com.vibeworks.planning.importer.MemberImportSchema;
+import com.vibeworks.planning.importer.RowResult;
+import com.vibeworks.planning.importer.UniqueKey;
 import com.vibeworks.planning.model.Member;
+import com.vibeworks.planning.repository.MemberJdbcRepository;
 import com.vibeworks.planning.repository.MemberRepository;
+import com.vibeworks.planning.util.SeekCursor;
+import com.vibeworks.planning.util.exceptions.ExportValueTooLongException;
+import com.vibeworks.planning.util.exceptions.InvalidCursorException;
 import com.vibeworks.planning.util.exceptions.ResourceAlreadyExistsException;
 import com.vibeworks.planning.util.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class MemberService {
     
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+    
+    // Headers and keys the member import schema maps back to the same fields
+    private static final List<ExportColumn<Member>> EXPORT_COLUMNS = List.of(
+        ExportColumn.of("Type", "type", Member::getType),
+        ExportColumn.of("First Name", "firstName", Member::getFirstName),
+        ExportColumn.of("Last Name", "lastName", Member::getLastName),
+        ExportColumn.of("Name", "name", Member::getName),
+        ExportColumn.of("Offline", "offline", Member::getOffline),
+        ExportColumn.of("Email", "email", Member::getEmail),
+        ExportColumn.of("Phone", "phone", Member::getPhone),
+        ExportColumn.of("WhatsApp", "whatsapp", Member::getWhatsapp),
+        ExportColumn.of("Specialized In", "specializedIn", Member::getSpecializedIn),
+        ExportColumn.of("Experience", "experience", Member::getExperience),
+        ExportColumn.of("Address", "address", Member::getAddress),
+        ExportColumn.of("ID", "id", Member::getId),
+        ExportColumn.of("Created At", "createdAt", Member::getCreatedAt),
+        ExportColumn.of("Updated At", "updatedAt", Member::getUpdatedAt)
+    );
+    
     @Autowired
     private MemberRepository memberRepository;
     
+    @Autowired
+    private MemberJdbcRepository memberJdbcRepository;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private ImportEngine importEngine;
+    
+    @Autowired
+    private MemberImportSchema memberImportSchema;
+    
+    @Autowired
+    private TableExporter tableExporter;
+    
+    @Autowired
+    private MemberDirectory memberDirectory;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Only reads that miss the member directory go to the database, so only they open a transaction
+    private TransactionTemplate readOnlyTemplate;
+    
+    @PostConstruct
+    void createReadOnlyTemplate() {
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+    }
+    
     @Transactional
     public MemberResponse createMember(CreateMemberRequest request) {
         log.info("Creating member: {}", request.getEmail());
         
-        // Check for duplicate email
-        memberRepository.findByEmail(request.getEmail())
-                .ifPresent(existing -> {
-                    throw new ResourceAlreadyExistsException("Member with email '" + request.getEmail() + "' already exists");
-                });
-        
-        Member member = mapToEntity(request);
-        Member saved = memberRepository.save(member);
-        return mapToResponse(saved);
+        // The unique email index decides duplicates, so concurrent creates cannot both succeed
+        Member saved = memberJdbcRepository.insertIfAbsent(mapToEntity(request))
+                .orElseThrow(() -> new ResourceAlreadyExistsException(
+                    "Member with email '" + request.getEmail() + "' already exists"));
+        MemberResponse response = mapToResponse(saved);
+        importEngine.forgetRows(memberImportSchema, List.of(saved.getEmail()));
+        memberDirectory.put(response);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, saved.getId());
+        return response;
     }
     
-    @Transactional(readOnly = true)
-    public List<MemberResponse> getAllMembers() {
-        return memberRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Lists members newest first from the member directory, or from the database when the
+     * directory is not cached.
+     */
+    public List<MemberResponse> getAllMembers(String type) {
+        boolean byType = type != null && !type.isEmpty();
+        List<MemberResponse> cached = byType ? memberDirectory.byType(type) : memberDirectory.all();
+        if (cached != null) {
+            return cached;
+        }
+        return readOnlyTemplate.execute(status -> {
+            List<Member> members = byType
+                    ? memberRepository.findByTypeIgnoreCaseOrderByCreatedAtDesc(type)
+                    : memberRepository.findAllByOrderByCreatedAtDesc();
+            return members.stream()
+                    .map(MemberService::mapToResponse)
+                    .collect(Collectors.toList());
+        });
+    }
+    
+    /**
+     * Searches members with the filters applied in the database, newest first. Pages continue
+     * from an opaque cursor; each page also carries an estimate of the total number of matches.
+     */
+    public PageResponse<MemberResponse> searchMembers(MemberSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = SeekCursor.decode(cursor, 2);
+            try {
+                afterCreatedAt = LocalDateTime.parse(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+        
+        // One extra row tells whether there is a next page
+        List<Member> members = memberJdbcRepository.search(criteria, afterCreatedAt, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (members.size() > pageSize) {
+            members = members.subList(0, pageSize);
+            Member last = members.get(pageSize - 1);
+            nextCursor = SeekCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        List<MemberResponse> items = members.stream().map(MemberService::mapToResponse).toList();
+        return new PageResponse<>(items, nextCursor, memberJdbcRepository.estimateCount(criteria));
     }
     
-    @Transactional(readOnly = true)
     public MemberResponse getMemberById(Long id) {
-        Member member = memberRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Member", id));
-        return mapToResponse(member);
+        Optional<MemberResponse> cached = memberDirectory.byId(id);
+        if (cached != null) {
+            return cached.orElseThrow(() -> new ResourceNotFoundException("Member", id));
+        }
+        return readOnlyTemplate.execute(status -> memberRepository.findById(id)
+                .map(MemberService::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Member", id)));
     }
     
     @Transactional
     public MemberResponse updateMember(Long id, CreateMemberRequest request) {
         log.info("Updating member with id: {}", id);
         
-        Member member = memberRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Member", id));
-        
-        // Check for duplicate email (if email is being changed)
-        if (!member.getEmail().equals(request.getEmail())) {
-            memberRepository.findByEmail(request.getEmail())
-                    .ifPresent(existing -> {
-                        throw new ResourceAlreadyExistsException(
-                            "Member with email '" + request.getEmail() + "' already exists");
-                    });
-        }
-        
-        // Update member fields
-        member.setType(request.getType());
+        Member member = mapToEntity(request);
         if ("person".equals(request.getType())) {
-            member.setFirstName(request.getFirstName());
-            member.setLastName(request.getLastName());
-            member.setName(null);
-        } else {
-            member.setName(request.getName());
-            member.setOffline(request.getOffline() != null ? request.getOffline() : false);
-            member.setFirstName(null);
-            member.setLastName(null);
+            // People have no offline flag of their own; keep whatever is stored
+            member.setOffline(null);
         }
         
-        member.setEmail(request.getEmail());
-        member.setPhone(request.getPhone());
-        member.setWhatsapp(request.getWhatsapp());
-        member.setSpecializedIn(request.getSpecializedIn());
-        member.setExperience(request.getExperience());
-        member.setAddress(request.getAddress());
-        
-        Member updated = memberRepository.save(member);
-        return mapToResponse(updated);
+        try {
+            Member updated = memberJdbcRepository.update(id, member)
+                    .orElseThrow(() -> new ResourceNotFoundException("Member", id));
+            MemberResponse response = mapToResponse(updated);
+            // A hash left under a previous email is harmless: imports only consult existing keys
+            importEngine.forgetRows(memberImportSchema, List.of(updated.getEmail()));
+            memberDirectory.put(response);
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, id);
+            return response;
+        } catch (DuplicateKeyException e) {
+            throw new ResourceAlreadyExistsException(
+                "Member with email '" + request.getEmail() + "' already exists");
+        }
     }
     
     @Transactional
     public void deleteMember(Long id) {
         log.info("Deleting member with id: {}", id);
         memberRepository.deleteById(id);
+        importEngine.forgetRows(memberImportSchema, List.of());
+        memberDirectory.remove(id);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, id);
     }
     
-    @Transactional
-    public ImportMembersResponse importMembers(MultipartFile file) {
+    /**
+     * Fails with an {@link ExportValueTooLongException} when a member has a value too long for
+     * the format. Called before an export starts streaming, while the request can still be
+     * answered with an error.
+     */
+    @Transactional(readOnly = true)
+    public void checkExportable(ExportFormat format) {
+        if (!format.limitsTextLength()) {
+            return;
+        }
+        memberRepository.findFirstWithAddressLongerThan(format.maxTextLength()).ifPresent(email -> {
+            throw new ExportValueTooLongException(String.format(
+                    "Member '%s' has an address longer than the %d characters an Excel cell holds; export as csv or json instead",
+                    email, format.maxTextLength()));
+        });
+    }
+    
+    /**
+     * Streams every member to {@code out} in the given format, reading them through a database
+     * cursor. Each member is detached once written, so memory use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportMembers(ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting members as {}", format);
+        
+        try (Stream<Member> members = memberRepository.streamAllForExport();
+             ExportWriter<Member> writer = tableExporter.open(format, EXPORT_COLUMNS, "Members", out)) {
+            members.forEach(member -> {
+                writer.write(member);
+                entityManager.detach(member);
+            });
+        }
+    }
+    
+    public ImportMembersResponse importMembers(MultipartFile file, ImportOptions options) {
         log.info("Importing members from file: {}", file.getOriginalFilename());
         
         String fileName = file.getOriginalFilename();
@@ -119,27 +261,19 @@ public class MemberService {
             throw new RuntimeException("File name is required");
         }
         
-        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
-        
         try {
-            List<Map<String, Object>> membersData;
-            
-            switch (extension) {
-                case "json":
-                    membersData = parseJsonFile(file);
-                    break;
-                case "csv":
-                    membersData = parseCsvFile(file);
-                    break;
-                case "xlsx":
-                case "xls":
-                    membersData = parseExcelFile(file, extension);
-                    break;
-                default:
-                    throw new RuntimeException("Unsupported file format: " + extension + ". Supported formats: JSON, CSV, Excel");
-            }
+            ImportResult<MemberResponse> result = importMembers(ImportSource.of(file), new ImportResult<>(), options);
             
-            return processImport(membersData);
+            ImportMembersResponse response = new ImportMembersResponse(
+                result.getTotalProcessed(),
+                result.getSuccessful(),
+                result.getFailed(),
+                result.getErrors(),
+                result.getImported()
+            );
+            response.setSkipped(result.getSkipped());
+            response.setCached(result.isCached());
+            return response;
             
         } catch (Exception e) {
             log.error("Error importing members", e);
@@ -147,267 +281,77 @@ public class MemberService {
         }
     }
     
-    private List<Map<String, Object>> parseJsonFile(MultipartFile file) throws Exception {
-        String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-        return objectMapper.readValue(content, new TypeReference<List<Map<String, Object>>>() {});
-    }
-    
-    private List<Map<String, Object>> parseCsvFile(MultipartFile file) throws Exception {
-        List<Map<String, Object>> members = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                throw new RuntimeException("CSV file is empty");
-            }
-            
-            String[] headers = parseCsvLine(headerLine);
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                
-                String[] values = parseCsvLine(line);
-                Map<String, Object> member = new HashMap<>();
-                
-                for (int i = 0; i < headers.length && i < values.length; i++) {
-                    String header = headers[i].trim();
-                    String value = values[i].trim();
-                    
-                    // Map various header formats
-                    String normalizedHeader = normalizeHeader(header);
-                    if (!normalizedHeader.isEmpty() && !value.isEmpty()) {
-                        member.put(normalizedHeader, value);
-                    }
-                }
-                
-                if (!member.isEmpty()) {
-                    members.add(member);
-                }
-            }
-        }
-        
-        return members;
+    /**
+     * Imports from any source, recording progress into {@code result} as chunks commit.
+     * {@code options.mode()} selects batched inserts or COPY; null uses {@code import.mode}.
+     */
+    public ImportResult<MemberResponse> importMembers(ImportSource source, ImportResult<MemberResponse> result,
+                                                      ImportOptions options) throws Exception {
+        ChunkWriter<CreateMemberRequest, MemberResponse> writer =
+                importEngine.resolveMode(options.mode()) == ImportMode.COPY ? this::copyImportChunk : this::writeImportChunk;
+        return importEngine.run(source, memberImportSchema, memberEmailKey(), writer, MemberResponse.class, result, options);
     }
     
-    private String[] parseCsvLine(String line) {
-        List<String> values = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    current.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                values.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        values.add(current.toString());
-        
-        return values.toArray(new String[0]);
-    }
-    
-    private String normalizeHeader(String header) {
-        String lower = header.toLowerCase().trim();
-        
-        // Map various header name formats
-        if (lower.contains("type") || lower.equals("membertype")) return "type";
-        if (lower.contains("first") && lower.contains("name")) return "firstName";
-        if (lower.contains("last") && lower.contains("name")) return "lastName";
-        if (lower.equals("name") || lower.contains("entityname")) return "name";
-        if (lower.contains("email")) return "email";
-        if (lower.contains("phone") && !lower.contains("whatsapp")) return "phone";
-        if (lower.contains("whatsapp") || lower.contains("whats app")) return "whatsapp";
-        if (lower.contains("specialized") || lower.contains("specialization")) return "specializedIn";
-        if (lower.contains("experience")) return "experience";
-        if (lower.contains("address")) return "address";
-        if (lower.contains("offline") || lower.contains("isoffline")) return "offline";
-        
-        return "";
-    }
-    
-    private List<Map<String, Object>> parseExcelFile(MultipartFile file, String extension) throws Exception {
-        List<Map<String, Object>> members = new ArrayList<>();
-        
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = extension.equals("xlsx") 
-                 ? new XSSFWorkbook(is) 
-                 : new HSSFWorkbook(is)) {
-            
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet.getPhysicalNumberOfRows() < 2) {
-                throw new RuntimeException("Excel file must have at least a header row and one data row");
-            }
-            
-            Row headerRow = sheet.getRow(0);
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(getCellValueAsString(cell));
-            }
-            
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-                
-                Map<String, Object> member = new HashMap<>();
-                boolean hasData = false;
-                
-                for (int j = 0; j < headers.size() && j < row.getLastCellNum(); j++) {
-                    Cell cell = row.getCell(j);
-                    String header = headers.get(j);
-                    String value = getCellValueAsString(cell);
-                    
-                    String normalizedHeader = normalizeHeader(header);
-                    if (!normalizedHeader.isEmpty() && !value.isEmpty()) {
-                        member.put(normalizedHeader, value);
-                        hasData = true;
-                    }
-                }
-                
-                if (hasData) {
-                    members.add(member);
-                }
-            }
-        }
-        
-        return members;
-    }
-    
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-        
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    // Check if it's a whole number
-                    double numValue = cell.getNumericCellValue();
-                    if (numValue == (long) numValue) {
-                        return String.valueOf((long) numValue);
-                    } else {
-                        return String.valueOf(numValue);
-                    }
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
-        }
+    private UniqueKey<CreateMemberRequest> memberEmailKey() {
+        return new UniqueKey<>(
+            CreateMemberRequest::getEmail,
+            memberRepository::findExistingEmails,
+            email -> "Member with email '" + email + "' already exists"
+        );
     }
     
-    @Transactional
-    private ImportMembersResponse processImport(List<Map<String, Object>> membersData) {
-        List<String> errors = new ArrayList<>();
-        List<MemberResponse> importedMembers = new ArrayList<>();
-        int successful = 0;
-        int failed = 0;
+    /**
+     * Writes one import chunk of non-duplicate rows: one JDBC batch insert and one query to read
+     * the generated rows back.
+     */
+    private List<RowResult<MemberResponse>> writeImportChunk(List<ImportRow<CreateMemberRequest>> rows) {
+        List<Member> toInsert = rows.stream()
+                .map(row -> mapToEntity(row.request()))
+                .collect(Collectors.toList());
+        memberJdbcRepository.insertAll(toInsert);
         
-        for (int i = 0; i < membersData.size(); i++) {
-            Map<String, Object> memberData = membersData.get(i);
-            int rowNumber = i + 1;
-            
-            try {
-                // Validate and convert to CreateMemberRequest
-                CreateMemberRequest request = mapToCreateRequest(memberData);
-                
-                // Check for duplicate email
-                if (memberRepository.findByEmail(request.getEmail()).isPresent()) {
-                    errors.add("Row " + rowNumber + ": Member with email '" + request.getEmail() + "' already exists");
-                    failed++;
-                    continue;
-                }
-                
-                // Create member
-                Member member = mapToEntity(request);
-                Member saved = memberRepository.save(member);
-                importedMembers.add(mapToResponse(saved));
-                successful++;
-                
-            } catch (Exception e) {
-                errors.add("Row " + rowNumber + ": " + e.getMessage());
-                failed++;
-                log.error("Error processing member at row {}", rowNumber, e);
-            }
-        }
+        Set<String> emails = toInsert.stream().map(Member::getEmail).collect(Collectors.toSet());
+        Map<String, Member> inserted = memberRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Member::getEmail, member -> member));
         
-        return new ImportMembersResponse(
-            membersData.size(),
-            successful,
-            failed,
-            errors,
-            importedMembers
-        );
+        List<MemberResponse> responses = rows.stream()
+                .map(row -> mapToResponse(inserted.get(row.request().getEmail())))
+                .collect(Collectors.toList());
+        memberDirectory.putAll(responses);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER,
+                responses.stream().map(MemberResponse::getId).toList());
+        return responses.stream().map(RowResult::imported).collect(Collectors.toList());
     }
     
-    private CreateMemberRequest mapToCreateRequest(Map<String, Object> data) {
-        CreateMemberRequest request = new CreateMemberRequest();
+    /**
+     * Writes one import chunk with COPY into a staging table and a single merge insert. Rows
+     * the merge skipped on the email constraint, such as ones inserted concurrently since the
+     * duplicate check, are reported as duplicates.
+     */
+    private List<RowResult<MemberResponse>> copyImportChunk(List<ImportRow<CreateMemberRequest>> rows) {
+        List<Member> members = rows.stream()
+                .map(row -> mapToEntity(row.request()))
+                .collect(Collectors.toList());
+        Map<String, Member> inserted = memberJdbcRepository.copyInsert(members).stream()
+                .collect(Collectors.toMap(Member::getEmail, member -> member));
         
-        // Determine type
-        String type = getStringValue(data, "type", "memberType", "Type");
-        if (type == null || type.isEmpty()) {
-            // Infer type from data
-            if (data.containsKey("firstName") || data.containsKey("first_name") || data.containsKey("First Name")) {
-                type = "person";
-            } else if (data.containsKey("name") || data.containsKey("Name") || data.containsKey("entityName")) {
-                type = "entity";
+        List<RowResult<MemberResponse>> results = new ArrayList<>(rows.size());
+        List<MemberResponse> imported = new ArrayList<>(inserted.size());
+        for (ImportRow<CreateMemberRequest> row : rows) {
+            String email = row.request().getEmail();
+            Member member = inserted.remove(email);
+            if (member != null) {
+                MemberResponse response = mapToResponse(member);
+                imported.add(response);
+                results.add(RowResult.imported(response));
             } else {
-                throw new RuntimeException("Cannot determine member type. Provide 'type' field or firstName/name");
-            }
-        }
-        request.setType(type.toLowerCase());
-        
-        if ("person".equals(request.getType())) {
-            request.setFirstName(getStringValue(data, "firstName", "first_name", "First Name", "First"));
-            request.setLastName(getStringValue(data, "lastName", "last_name", "Last Name", "Last"));
-        } else {
-            request.setName(getStringValue(data, "name", "Name", "entityName", "Entity Name"));
-            String offlineStr = getStringValue(data, "offline", "Offline", "isOffline", "Is Offline");
-            request.setOffline(offlineStr != null && (
-                offlineStr.equalsIgnoreCase("true") || 
-                offlineStr.equalsIgnoreCase("yes") || 
-                offlineStr.equals("1")
-            ));
-        }
-        
-        request.setEmail(getStringValue(data, "email", "Email", "emailAddress"));
-        if (request.getEmail() == null || request.getEmail().isEmpty()) {
-            throw new RuntimeException("Email is required");
-        }
-        
-        request.setPhone(getStringValue(data, "phone", "Phone", "phoneNumber", "Phone Number"));
-        request.setWhatsapp(getStringValue(data, "whatsapp", "WhatsApp", "Whats App", "whatsApp"));
-        request.setSpecializedIn(getStringValue(data, "specializedIn", "specialized_in", "Specialized In", "specialization", "Specialization"));
-        request.setExperience(getStringValue(data, "experience", "Experience", "experienceYears", "Experience Years"));
-        request.setAddress(getStringValue(data, "address", "Address"));
-        
-        return request;
-    }
-    
-    private String getStringValue(Map<String, Object> data, String... keys) {
-        for (String key : keys) {
-            Object value = data.get(key);
-            if (value != null) {
-                return value.toString().trim();
+                results.add(RowResult.failed("Member with email '" + email + "' already exists"));
             }
         }
-        return null;
+        memberDirectory.putAll(imported);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER,
+                imported.stream().map(MemberResponse::getId).toList());
+        return results;
     }
     
     private Member mapToEntity(CreateMemberRequest request) {
@@ -432,7 +376,7 @@ public class MemberService {
         return member;
     }
     
-    private MemberResponse mapToResponse(Member member) {
+    static MemberResponse mapToResponse(Member member) {
         return new MemberResponse(
             member.getId(),
             member.getType(),
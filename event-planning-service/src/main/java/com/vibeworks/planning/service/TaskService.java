@@ -0,0 +1,247 @@
+package com.vibeworks.planning.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vibeworks.planning.model.Task;
+import com.vibeworks.planning.repository.EventJdbcRepository;
+import com.vibeworks.planning.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps an event's task list in the tasks table, one row per task.
+ *
+ * <p>Task lists arrive whole, from the wizard, a patch or an import. When they replace an
+ * existing list, each task is matched to its row by the {@code taskId} the event's task list
+ * carries, or, for tasks without one, to a row with identical content. Only rows whose content or
+ * position changed are updated. Unmatched tasks are inserted in batches and unmatched rows are
+ * deleted in one statement. When task titles change, the event's search vector is rebuilt.
+ */
+@Service
+@Slf4j
+public class TaskService {
+    
+    static final String TASK_ID = "taskId";
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private EventJdbcRepository eventJdbcRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Outcome of a sync: whether any row was inserted, updated or deleted, and the event's task
+     * rows in list order.
+     */
+    public record SyncResult(boolean changed, List<Task> tasks) {
+    }
+    
+    /**
+     * Makes the event's task rows match {@code tasks}, a JSON array.
+     */
+    @Transactional
+    public SyncResult syncTasks(Long eventId, JsonNode tasks) {
+        List<Task> rows = taskRepository.findByEventIdOrderByPosition(eventId);
+        Map<Long, Task> unclaimed = new LinkedHashMap<>();
+        for (Task row : rows) {
+            unclaimed.put(row.getId(), row);
+        }
+        
+        int size = tasks.size();
+        Task[] matches = new Task[size];
+        JsonNode[] contents = new JsonNode[size];
+        
+        // Tasks that carry the id of one of this event's rows keep that row
+        for (int i = 0; i < size; i++) {
+            JsonNode task = tasks.get(i);
+            contents[i] = withoutTaskId(task);
+            JsonNode taskId = task.isObject() ? task.get(TASK_ID) : null;
+            if (taskId != null && taskId.canConvertToLong()) {
+                matches[i] = unclaimed.remove(taskId.longValue());
+            }
+        }
+        
+        // The rest take a remaining row with the same content, so resending a list is free
+        Map<JsonNode, Deque<Task>> byContent = new HashMap<>();
+        for (Task row : unclaimed.values()) {
+            byContent.computeIfAbsent(readData(row), key -> new ArrayDeque<>()).add(row);
+        }
+        for (int i = 0; i < size; i++) {
+            if (matches[i] == null) {
+                Deque<Task> sameContent = byContent.get(contents[i]);
+                if (sameContent != null && !sameContent.isEmpty()) {
+                    matches[i] = sameContent.poll();
+                    unclaimed.remove(matches[i].getId());
+                }
+            }
+        }
+        
+        boolean changed = false;
+        boolean titlesChanged = false;
+        List<Task> inserts = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Task row = matches[i];
+            if (row == null) {
+                matches[i] = toRow(eventId, i, contents[i]);
+                inserts.add(matches[i]);
+                continue;
+            }
+            if (row.getPosition() != i) {
+                row.setPosition(i);
+                changed = true;
+            }
+            if (!contents[i].equals(readData(row))) {
+                String title = row.getTask();
+                copyFields(row, contents[i]);
+                titlesChanged |= !title.equals(row.getTask());
+                changed = true;
+            }
+        }
+        
+        if (!inserts.isEmpty()) {
+            taskRepository.saveAll(inserts);
+            changed = true;
+            titlesChanged = true;
+        }
+        if (!unclaimed.isEmpty()) {
+            taskRepository.deleteAllInBatch(unclaimed.values());
+            changed = true;
+            titlesChanged = true;
+        }
+        if (titlesChanged) {
+            refreshSearchVectors(List.of(eventId));
+        }
+        return new SyncResult(changed, List.of(matches));
+    }
+    
+    /**
+     * Renders task rows as the event's task list: each task as stored, with its row id added as
+     * {@code taskId}, the same shape {@link com.vibeworks.planning.model.Event#getTasks()} reads.
+     */
+    public String toJson(List<Task> tasks) {
+        ArrayNode list = objectMapper.createArrayNode();
+        for (Task task : tasks) {
+            JsonNode content = readData(task);
+            if (content.isObject()) {
+                ((ObjectNode) content).put(TASK_ID, task.getId());
+            }
+            list.add(content);
+        }
+        return list.toString();
+    }
+    
+    /**
+     * Inserts the task lists of newly created events, keyed by event id, in one batch.
+     */
+    @Transactional
+    public void insertTasks(Map<Long, ? extends JsonNode> tasksByEvent) {
+        List<Task> rows = new ArrayList<>();
+        tasksByEvent.forEach((eventId, tasks) -> {
+            for (int i = 0; i < tasks.size(); i++) {
+                rows.add(toRow(eventId, i, withoutTaskId(tasks.get(i))));
+            }
+        });
+        taskRepository.saveAll(rows);
+        refreshSearchVectors(tasksByEvent.keySet());
+    }
+    
+    /**
+     * Task titles are part of the event's search vector, which is rebuilt from the rows, so
+     * pending inserts and updates are flushed first.
+     */
+    private void refreshSearchVectors(Collection<Long> eventIds) {
+        taskRepository.flush();
+        eventJdbcRepository.refreshSearchVectors(eventIds);
+    }
+    
+    private Task toRow(Long eventId, int position, JsonNode content) {
+        Task row = new Task();
+        row.setEventId(eventId);
+        row.setPosition(position);
+        copyFields(row, content);
+        return row;
+    }
+    
+    /**
+     * Stores the task content and copies its title, description, priority and duration into
+     * their columns. Understands the wizard's ({@code taskTitle}, {@code durationQuantity}) and
+     * the AI service's ({@code task}, {@code estimated_duration}) task shapes.
+     */
+    private void copyFields(Task row, JsonNode content) {
+        try {
+            row.setData(objectMapper.writeValueAsString(content));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task", e);
+        }
+        JsonNode duration = content.path("estimated_duration");
+        row.setTask(truncate(firstText(content.path("task"), content.path("taskTitle"), content.path("title")), 255));
+        row.setDescription(firstText(content.path("description")));
+        row.setPriority(truncate(firstText(content.path("priority")), 255));
+        row.setDurationQuantity(number(content.has("durationQuantity") ? content.path("durationQuantity") : duration.path("quantity")));
+        row.setDurationUnit(truncate(firstText(content.path("durationUnit"), duration.path("unit")), 255));
+        if (row.getTask() == null) {
+            row.setTask("");
+        }
+    }
+    
+    private JsonNode readData(Task row) {
+        try {
+            return objectMapper.readTree(row.getData());
+        } catch (JsonProcessingException e) {
+            return objectMapper.nullNode();
+        }
+    }
+    
+    private static JsonNode withoutTaskId(JsonNode task) {
+        if (!task.isObject() || !task.has(TASK_ID)) {
+            return task;
+        }
+        ObjectNode copy = ((ObjectNode) task).deepCopy();
+        copy.remove(TASK_ID);
+        return copy;
+    }
+    
+    private static String firstText(JsonNode... candidates) {
+        for (JsonNode candidate : candidates) {
+            if (candidate.isValueNode() && !candidate.isNull()) {
+                return candidate.asText();
+            }
+        }
+        return null;
+    }
+    
+    private static Double number(JsonNode value) {
+        if (value.isNumber()) {
+            return value.doubleValue();
+        }
+        if (value.isTextual()) {
+            try {
+                return Double.parseDouble(value.asText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
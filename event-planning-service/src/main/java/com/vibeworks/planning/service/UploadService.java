@@ -0,0 +1,226 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.CreateUploadRequest;
+import com.vibeworks.planning.dto.ImportJobResponse;
+import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.dto.UploadResponse;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.importer.ImportOptions;
+import com.vibeworks.planning.importer.UploadSession;
+import com.vibeworks.planning.util.exceptions.ResourceNotFoundException;
+import com.vibeworks.planning.util.exceptions.UploadOffsetMismatchException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads for large import files. A client opens an upload, PUTs chunks at the offset
+ * the server has acknowledged, and completes it to start a background import of the assembled
+ * file. After a dropped connection the client asks for the current offset and continues from
+ * there. Uploads idle for {@code import.uploads.expiry-minutes} are discarded by a sweep every
+ * {@code import.uploads.purge-interval-ms}.
+ * <p>
+ * Every change to an upload, including discarding it, happens under the upload's monitor, and
+ * only while the upload is still registered, so a chunk is never written to a file that is being
+ * deleted.
+ */
+@Service
+@Slf4j
+public class UploadService {
+    
+    @Autowired
+    private ImportJobService importJobService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Value("${import.uploads.max-size-mb:1024}")
+    private long maxSizeMb;
+    
+    @Value("${import.uploads.expiry-minutes:60}")
+    private long expiryMinutes;
+    
+    private final Map<String, UploadSession> uploads = new ConcurrentHashMap<>();
+    
+    public UploadResponse createUpload(CreateUploadRequest request) {
+        if (!"members".equals(request.getType()) && !"events".equals(request.getType())) {
+            throw new RuntimeException("Unsupported import type: " + request.getType() + ". Supported types: members, events");
+        }
+        if (request.getSize() != null && request.getSize() > maxSizeBytes()) {
+            throw new RuntimeException("Upload exceeds the maximum size of " + maxSizeMb + " MB");
+        }
+        
+        Path path;
+        try {
+            path = Files.createTempFile("import-upload-", ".part");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create upload: " + e.getMessage(), e);
+        }
+        
+        UploadSession upload = new UploadSession(UUID.randomUUID().toString(), request.getType(),
+                request.getFileName(), request.getSize(), path);
+        uploads.put(upload.getId(), upload);
+        log.info("Started {} upload {} for file {}", upload.getType(), upload.getId(), upload.getFileName());
+        return toResponse(upload);
+    }
+    
+    public UploadResponse getUpload(String uploadId) {
+        return toResponse(findUpload(uploadId));
+    }
+    
+    /**
+     * Appends one chunk at {@code offset}, which must equal the bytes received so far. Bytes are
+     * acknowledged as they are written, so a chunk cut off mid-transfer still advances the offset
+     * by whatever arrived.
+     */
+    public UploadResponse appendChunk(String uploadId, long offset, InputStream body) {
+        UploadSession upload = findUpload(uploadId);
+        
+        synchronized (upload) {
+            ensureOpen(upload);
+            if (offset != upload.getReceived()) {
+                throw new UploadOffsetMismatchException("Chunk offset " + offset + " does not match the "
+                        + upload.getReceived() + " bytes received", upload.getReceived());
+            }
+            
+            long limit = upload.getSize() != null ? upload.getSize() : maxSizeBytes();
+            try (FileChannel channel = FileChannel.open(upload.getPath(), StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(body)) {
+                channel.position(offset);
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    if (upload.getReceived() + buffer.remaining() > limit) {
+                        throw new RuntimeException("Chunk runs past the upload size of " + limit + " bytes");
+                    }
+                    while (buffer.hasRemaining()) {
+                        upload.advance(channel.write(buffer));
+                    }
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                log.warn("Upload {} chunk interrupted at offset {}", uploadId, upload.getReceived(), e);
+                throw new RuntimeException("Chunk upload interrupted at offset " + upload.getReceived(), e);
+            }
+        }
+        
+        return toResponse(upload);
+    }
+    
+    /**
+     * Hands the assembled file to a background import job; poll /api/imports/{jobId} for its
+     * progress. The upload is closed once the job is queued.
+     */
+    public ImportJobResponse completeUpload(String uploadId, ImportOptions options) {
+        UploadSession upload = findUpload(uploadId);
+        
+        synchronized (upload) {
+            ensureOpen(upload);
+            if (!upload.isComplete()) {
+                throw new UploadOffsetMismatchException("Upload is incomplete: received " + upload.getReceived()
+                        + " of " + upload.getSize() + " bytes", upload.getReceived());
+            }
+            
+            ImportJobResponse job = "members".equals(upload.getType())
+                    ? importJobService.<MemberResponse>submit("members", upload.getFileName(), upload.getPath(),
+                            (source, result) -> memberService.importMembers(source, result, options))
+                    : importJobService.<WizardDataResponse>submit("events", upload.getFileName(), upload.getPath(),
+                            (source, result) -> eventService.importEvents(source, result, options));
+            uploads.remove(uploadId);
+            log.info("Upload {} completed with {} bytes, queued as import job {}",
+                    uploadId, upload.getReceived(), job.getJobId());
+            return job;
+        }
+    }
+    
+    public void cancelUpload(String uploadId) {
+        UploadSession upload = findUpload(uploadId);
+        
+        synchronized (upload) {
+            ensureOpen(upload);
+            uploads.remove(uploadId);
+            deleteQuietly(upload.getPath());
+        }
+    }
+    
+    /**
+     * Discards uploads that have been idle for longer than {@code import.uploads.expiry-minutes}.
+     * An upload receiving a chunk is waited for, and is no longer idle afterwards.
+     */
+    @Scheduled(fixedDelayString = "${import.uploads.purge-interval-ms:60000}")
+    void purgeExpiredUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(expiryMinutes);
+        for (UploadSession upload : uploads.values()) {
+            if (!upload.getUpdatedAt().isBefore(cutoff)) {
+                continue;
+            }
+            synchronized (upload) {
+                if (upload.getUpdatedAt().isBefore(cutoff) && uploads.remove(upload.getId(), upload)) {
+                    log.info("Discarding expired upload {}", upload.getId());
+                    deleteQuietly(upload.getPath());
+                }
+            }
+        }
+    }
+    
+    private UploadSession findUpload(String uploadId) {
+        UploadSession upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw new ResourceNotFoundException("Upload " + uploadId + " not found");
+        }
+        return upload;
+    }
+    
+    /**
+     * Called holding the upload's monitor: fails when the upload was completed, cancelled or
+     * discarded while the caller waited for it.
+     */
+    private void ensureOpen(UploadSession upload) {
+        if (uploads.get(upload.getId()) != upload) {
+            throw new ResourceNotFoundException("Upload " + upload.getId() + " not found");
+        }
+    }
+    
+    private long maxSizeBytes() {
+        return maxSizeMb * 1024 * 1024;
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            log.warn("Could not delete upload file {}", path, e);
+        }
+    }
+    
+    private UploadResponse toResponse(UploadSession upload) {
+        return new UploadResponse(
+            upload.getId(),
+            upload.getType(),
+            upload.getFileName(),
+            upload.getSize(),
+            upload.getReceived(),
+            upload.getCreatedAt(),
+            upload.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.vibeworks.planning.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wizard responses by event id, each tagged with the event version it was built from.
+ * A lookup only hits when the caller's version matches, so an event updated anywhere is never
+ * served stale; explicit invalidation, here or from another instance through the
+ * {@link CacheInvalidationBus}, just frees the entry early.
+ *
+ * <p>Entries are weighed by an estimate of their heap size and the cache is bounded by
+ * {@code events.wizard-cache.max-size-mb}. Hits, misses and evictions are published as the
+ * {@code cache.*} metrics tagged {@code cache=wizardResponses}.
+ */
+@Component
+public class WizardResponseCache {
+    
+    // Responses hold the JSON text itself, at most two bytes a character, plus the fixed fields
+    private static final int BYTES_PER_JSON_CHAR = 2;
+    private static final int BASE_ENTRY_BYTES = 512;
+    
+    private record Entry(Long version, WizardDataResponse response, int weight) {
+    }
+    
+    @Value("${events.wizard-cache.max-size-mb:64}")
+    private long maxSizeMb;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    private Cache<Long, Entry> cache;
+    
+    @PostConstruct
+    void createCache() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024 * 1024)
+                .weigher((Long id, Entry entry) -> entry.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "wizardResponses");
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.EVENT, cache::invalidateAll, cache::invalidateAll);
+    }
+    
+    /**
+     * Returns the cached response for the event, or null when there is none for this version.
+     */
+    public WizardDataResponse get(Long eventId, Long version) {
+        Entry entry = cache.getIfPresent(eventId);
+        return entry != null && entry.version().equals(version) ? entry.response() : null;
+    }
+    
+    /**
+     * Caches a response built from {@code event}. Only call this with committed state, since the
+     * entry is trusted for as long as the event's version is unchanged.
+     */
+    public void put(Event event, WizardDataResponse response) {
+        cache.put(event.getId(), new Entry(event.getVersion(), response, weigh(event)));
+    }
+    
+    public void invalidate(Long eventId) {
+        cache.invalidate(eventId);
+    }
+    
+    private static int weigh(Event event) {
+        long jsonChars = length(event.getTasks()) + length(event.getAssignedMembers())
+                + length(event.getCompletedSteps()) + length(event.getEventInfo());
+        return (int) Math.min(Integer.MAX_VALUE, BASE_ENTRY_BYTES + jsonChars * BYTES_PER_JSON_CHAR);
+    }
+    
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
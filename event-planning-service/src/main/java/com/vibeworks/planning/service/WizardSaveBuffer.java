@@ -0,0 +1,252 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.WizardDataRequest;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.repository.EventVersion;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for wizard saves. The first save of an event opens a window of
+ * {@code windowMillis}; later saves in the window replace the pending one, and only the last is
+ * written when the window closes. Each event gets one database write per window however many
+ * autosaves arrive.
+ *
+ * <p>A save is only acknowledged once it is written: {@link #submit} returns a future that every
+ * save of the window shares, completed with the written response when the window's write
+ * commits. Nothing acknowledged is lost if the process dies; unacknowledged saves fail with the
+ * connection and the client sends them again.
+ *
+ * <p>A window remembers the event version its saves were based on, and its write only applies
+ * if the event is still at that version. If another editor wrote the event in the meantime, the
+ * window's saves fail with a {@link PatchConflictException}, so the editors who sent them reload.
+ * A write that fails for any other reason fails them with that error. Writes for one event run
+ * one after another: a window opened during a write is based on the version that write produces,
+ * and fails with it if it fails. {@link #close()} writes everything still pending.
+ */
+@Slf4j
+class WizardSaveBuffer {
+    
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    
+    /**
+     * The database side of the buffer.
+     */
+    interface Store {
+        /**
+         * Returns the event's id and current version, or null when it does not exist yet.
+         */
+        EventVersion find(String eventName);
+        
+        /**
+         * Writes the save if the event is still at {@code expectedVersion}, or still missing when
+         * that is null, and commits. Returns the written event, or null when it has moved on.
+         */
+        WizardDataResponse write(WizardDataRequest request, Long expectedVersion);
+    }
+    
+    /**
+     * The saves of one window and the outcome they share. {@code request} and {@code saves} are
+     * guarded by the slot's monitor until the window closes.
+     */
+    private static class Window {
+        final Window previous;
+        final Long baseVersion;
+        final CompletableFuture<WizardDataResponse> result = new CompletableFuture<>();
+        WizardDataRequest request;
+        int saves;
+        
+        Window(Window previous, Long baseVersion) {
+            this.previous = previous;
+            this.baseVersion = baseVersion;
+        }
+    }
+    
+    /**
+     * Windows of one event: the one taking saves, if any, and the last one opened, which may
+     * still be writing. Guarded by its own monitor; a retired slot has left the map and must not
+     * be used.
+     */
+    private static class Slot {
+        final String eventName;
+        Window open;
+        Window last;
+        boolean retired;
+        
+        Slot(String eventName) {
+            this.eventName = eventName;
+        }
+    }
+    
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Store store;
+    private final long windowMillis;
+    private final ThreadPoolTaskScheduler scheduler;
+    
+    WizardSaveBuffer(Store store, long windowMillis) {
+        this.store = store;
+        this.windowMillis = windowMillis;
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("wizard-flush-");
+        scheduler.initialize();
+    }
+    
+    /**
+     * Buffers a save. The returned future completes with the written response when the save's
+     * window has been written, or fails with a {@link PatchConflictException} when another
+     * editor changed the event first.
+     */
+    CompletableFuture<WizardDataResponse> submit(WizardDataRequest request) {
+        String eventName = request.getEventName();
+        // The first window of an event is based on its stored version, read outside the monitor
+        Slot lookedUp = null;
+        EventVersion current = null;
+        while (true) {
+            Slot slot = slots.computeIfAbsent(eventName, Slot::new);
+            synchronized (slot) {
+                if (slot.retired) {
+                    continue;
+                }
+                if (slot.open == null && (slot.last != null || lookedUp == slot)) {
+                    Long baseVersion = slot.last == null && current != null ? current.getVersion() : null;
+                    slot.open = new Window(slot.last, baseVersion);
+                    slot.last = slot.open;
+                    schedule(slot, slot.open);
+                }
+                if (slot.open != null) {
+                    slot.open.request = request;
+                    slot.open.saves++;
+                    return slot.open.result;
+                }
+            }
+            lookedUp = slot;
+            current = store.find(eventName);
+        }
+    }
+    
+    /**
+     * Writes the event's pending saves now, if there are any, and waits for them, so that a
+     * direct write that follows applies on top of them.
+     */
+    void flush(String eventName) {
+        Slot slot = slots.get(eventName);
+        if (slot == null) {
+            return;
+        }
+        Window last;
+        synchronized (slot) {
+            last = slot.last;
+        }
+        if (last != null) {
+            flush(slot, last);
+            awaitQuietly(last);
+        }
+    }
+    
+    /**
+     * Stops the timer and writes every pending save.
+     */
+    void close() {
+        List<Window> remaining = new ArrayList<>();
+        for (Slot slot : List.copyOf(slots.values())) {
+            Window last;
+            synchronized (slot) {
+                last = slot.last;
+            }
+            if (last != null) {
+                flush(slot, last);
+                remaining.add(last);
+            }
+        }
+        remaining.forEach(WizardSaveBuffer::awaitQuietly);
+        scheduler.shutdown();
+        log.info("Flushed pending wizard saves of {} events on shutdown", remaining.size());
+    }
+    
+    private void schedule(Slot slot, Window window) {
+        scheduler.schedule(() -> flush(slot, window), Instant.now().plus(Duration.ofMillis(windowMillis)));
+    }
+    
+    /**
+     * Closes the window, unless that already happened, and writes it once its predecessor's
+     * write is done.
+     */
+    private void flush(Slot slot, Window window) {
+        synchronized (slot) {
+            if (slot.open != window) {
+                return;
+            }
+            slot.open = null;
+        }
+        if (window.previous == null) {
+            write(slot, window, window.baseVersion);
+            return;
+        }
+        window.previous.result.whenComplete((written, error) -> {
+            if (error != null) {
+                // Its saves were made on top of the ones that failed
+                finish(slot, window, () -> window.result.completeExceptionally(error));
+            } else {
+                write(slot, window, written.getVersion());
+            }
+        });
+    }
+    
+    private void write(Slot slot, Window window, Long baseVersion) {
+        finish(slot, window, () -> {
+            try {
+                WizardDataResponse written = store.write(window.request, baseVersion);
+                if (written != null) {
+                    log.debug("Wrote {} coalesced saves of wizard '{}'", window.saves, slot.eventName);
+                    window.result.complete(written);
+                    return;
+                }
+                EventVersion current = store.find(slot.eventName);
+                log.warn("Rejected {} saves of wizard '{}': it was changed by another editor",
+                        window.saves, slot.eventName);
+                window.result.completeExceptionally(new PatchConflictException(
+                        "Wizard data was changed by another editor", current != null ? current.getVersion() : null));
+            } catch (RuntimeException e) {
+                log.error("Writing {} saves of wizard '{}' failed", window.saves, slot.eventName, e);
+                window.result.completeExceptionally(e);
+            }
+        });
+    }
+    
+    /**
+     * Completes the window, then retires the slot if no window followed it.
+     */
+    private void finish(Slot slot, Window window, Runnable complete) {
+        try {
+            complete.run();
+        } finally {
+            synchronized (slot) {
+                if (slot.last == window) {
+                    slot.retired = true;
+                    slots.remove(slot.eventName, slot);
+                }
+            }
+        }
+    }
+    
+    private static void awaitQuietly(Window window) {
+        try {
+            window.result.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // The window's saves got the failure; the caller only waits for it to be done
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.vibeworks.planning.util;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vibeworks.planning.util.exceptions.InvalidPatchException;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An RFC 6902 JSON Patch: a list of {@code add}, {@code remove}, {@code replace}, {@code move},
+ * {@code copy} and {@code test} operations applied in order to a JSON document. Operations on the
+ * document root are not supported, so every path names a member of the root object, and
+ * {@link #rootMembers()} tells a caller which members it has to load before applying the patch.
+ *
+ * <p>Operations are validated when the patch is parsed and applied in place; if one fails, the
+ * document is left partly patched and should be discarded.
+ */
+public final class JsonPatch {
+    
+    private record Operation(String op, JsonPointer path, JsonPointer from, JsonNode value) {
+    }
+    
+    private final List<Operation> operations;
+    
+    private JsonPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+    
+    public static JsonPatch parse(JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new InvalidPatchException("A JSON Patch must be an array of operations");
+        }
+        
+        List<Operation> operations = new ArrayList<>(patch.size());
+        for (JsonNode node : patch) {
+            if (!node.isObject()) {
+                throw new InvalidPatchException("Patch operations must be objects");
+            }
+            String op = node.path("op").asText();
+            JsonPointer path = pointer(node, "path", op);
+            JsonPointer from = null;
+            JsonNode value = null;
+            switch (op) {
+                case "add", "replace", "test" -> {
+                    if (!node.has("value")) {
+                        throw new InvalidPatchException("'" + op + "' operation requires a value");
+                    }
+                    value = node.get("value");
+                }
+                case "move", "copy" -> from = pointer(node, "from", op);
+                case "remove" -> {
+                }
+                default -> throw new InvalidPatchException("Unsupported patch operation: '" + op + "'");
+            }
+            operations.add(new Operation(op, path, from, value));
+        }
+        return new JsonPatch(operations);
+    }
+    
+    private static JsonPointer pointer(JsonNode node, String field, String op) {
+        JsonNode text = node.get(field);
+        if (text == null || !text.isTextual()) {
+            throw new InvalidPatchException("'" + op + "' operation requires a '" + field + "' pointer");
+        }
+        JsonPointer pointer;
+        try {
+            pointer = JsonPointer.compile(text.asText());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatchException("Invalid JSON pointer: '" + text.asText() + "'");
+        }
+        if (pointer.matches()) {
+            throw new InvalidPatchException("Patching the whole document is not supported");
+        }
+        return pointer;
+    }
+    
+    /**
+     * Names of the root members any operation reads or writes.
+     */
+    public Set<String> rootMembers() {
+        Set<String> members = new LinkedHashSet<>();
+        for (Operation operation : operations) {
+            members.add(operation.path().getMatchingProperty());
+            if (operation.from() != null) {
+                members.add(operation.from().getMatchingProperty());
+            }
+        }
+        return members;
+    }
+    
+    /**
+     * Names of the root members an operation other than {@code test} may change.
+     */
+    public Set<String> modifiedMembers() {
+        Set<String> members = new LinkedHashSet<>();
+        for (Operation operation : operations) {
+            if (!operation.op().equals("test")) {
+                members.add(operation.path().getMatchingProperty());
+            }
+            if (operation.op().equals("move")) {
+                members.add(operation.from().getMatchingProperty());
+            }
+        }
+        return members;
+    }
+    
+    public void apply(ObjectNode document) {
+        for (Operation operation : operations) {
+            switch (operation.op()) {
+                case "add" -> add(document, operation.path(), operation.value().deepCopy());
+                case "remove" -> remove(document, operation.path());
+                case "replace" -> {
+                    remove(document, operation.path());
+                    add(document, operation.path(), operation.value().deepCopy());
+                }
+                case "move" -> {
+                    if (isProperPrefix(operation.from(), operation.path())) {
+                        throw new InvalidPatchException("Cannot move '" + operation.from() + "' into one of its children");
+                    }
+                    JsonNode value = remove(document, operation.from());
+                    add(document, operation.path(), value);
+                }
+                case "copy" -> add(document, operation.path(), get(document, operation.from()).deepCopy());
+                case "test" -> {
+                    if (!get(document, operation.path()).equals(operation.value())) {
+                        throw new PatchConflictException("Test failed at '" + operation.path() + "'", null);
+                    }
+                }
+                default -> throw new IllegalStateException(operation.op());
+            }
+        }
+    }
+    
+    private static JsonNode get(JsonNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw new InvalidPatchException("Path not found: '" + path + "'");
+        }
+        return node;
+    }
+    
+    private static void add(JsonNode document, JsonPointer path, JsonNode value) {
+        JsonNode parent = get(document, path.head());
+        String token = path.last().getMatchingProperty();
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(token, value);
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            if (token.equals("-")) {
+                array.add(value);
+            } else {
+                array.insert(index(token, array.size(), path), value);
+            }
+        } else {
+            throw new InvalidPatchException("Path not found: '" + path + "'");
+        }
+    }
+    
+    private static JsonNode remove(JsonNode document, JsonPointer path) {
+        JsonNode parent = get(document, path.head());
+        String token = path.last().getMatchingProperty();
+        if (parent.isObject() && parent.has(token)) {
+            return ((ObjectNode) parent).remove(token);
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            return array.remove(index(token, array.size() - 1, path));
+        }
+        throw new InvalidPatchException("Path not found: '" + path + "'");
+    }
+    
+    /**
+     * Parses an array index token, which must be a plain non-negative number no greater than {@code max}.
+     */
+    private static int index(String token, int max, JsonPointer path) {
+        boolean valid = !token.isEmpty() && token.length() < 10 && token.chars().allMatch(Character::isDigit)
+                && (token.length() == 1 || token.charAt(0) != '0');
+        if (!valid || Integer.parseInt(token) > max) {
+            throw new InvalidPatchException("Invalid array index at '" + path + "'");
+        }
+        return Integer.parseInt(token);
+    }
+    
+    private static boolean isProperPrefix(JsonPointer prefix, JsonPointer path) {
+        String prefixText = prefix.toString();
+        return path.toString().startsWith(prefixText + "/");
+    }
+}
@@ -0,0 +1,19 @@
+package com.vibeworks.planning.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads any JSON value back into its JSON text, the counterpart of
+ * {@link com.fasterxml.jackson.annotation.JsonRawValue} for fields that hold stored documents.
+ */
+public class RawJsonDeserializer extends JsonDeserializer<String> {
+    
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return parser.readValueAsTree().toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.vibeworks.planning.util;
+
+import com.vibeworks.planning.util.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor holds the sort key values of the last row on a
+ * page, and the next page starts right after that row, so pages stay stable and cheap however
+ * deep a client pages. Values are joined and base64url-encoded; clients should not parse them.
+ */
+public final class SeekCursor {
+    
+    private static final char SEPARATOR = '\u001f';
+    
+    private SeekCursor() {
+    }
+    
+    public static String encode(Object... keys) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                text.append(SEPARATOR);
+            }
+            text.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Splits a cursor back into its {@code keyCount} key values.
+     */
+    public static String[] decode(String cursor, int keyCount) {
+        String[] keys;
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            keys = text.split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        if (keys.length != keyCount) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        return keys;
+    }
+}
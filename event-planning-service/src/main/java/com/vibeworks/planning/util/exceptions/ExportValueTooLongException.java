@@ -0,0 +1,12 @@
+package com.vibeworks.planning.util.exceptions;
+
+/**
+ * A value too long for the requested export format, such as a task list longer than an Excel
+ * cell can hold. The same data can still be exported in a format without that limit.
+ */
+public class ExportValueTooLongException extends RuntimeException {
+    
+    public ExportValueTooLongException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.vibeworks.planning.util.exceptions;
+
+/**
+ * A pagination cursor that was not issued by this service or no longer fits the listing.
+ */
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.vibeworks.planning.util.exceptions;
+
+/**
+ * Import settings the request asked for that the service does not support, such as an unknown
+ * write mode.
+ */
+public class InvalidImportOptionsException extends RuntimeException {
+    
+    public InvalidImportOptionsException(String message) {
+        super(message);
+    }
+}
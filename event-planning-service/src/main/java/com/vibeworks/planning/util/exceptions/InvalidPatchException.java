@@ -0,0 +1,12 @@
+package com.vibeworks.planning.util.exceptions;
+
+/**
+ * A JSON Patch document that is malformed, or whose operations cannot be applied to the target,
+ * such as one removing a path that does not exist.
+ */
+public class InvalidPatchException extends RuntimeException {
+    
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
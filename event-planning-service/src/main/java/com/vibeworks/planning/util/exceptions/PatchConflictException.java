@@ -0,0 +1,17 @@
+package com.vibeworks.planning.util.exceptions;
+
+import lombok.Getter;
+
+/**
+ * A patch made against state that has since changed: the expected version is stale, or a
+ * {@code test} operation failed. Carries the current version when it is known, otherwise null.
+ */
+@Getter
+public class PatchConflictException extends RuntimeException {
+    private final Long version;
+    
+    public PatchConflictException(String message, Long version) {
+        super(message);
+        this.version = version;
+    }
+}
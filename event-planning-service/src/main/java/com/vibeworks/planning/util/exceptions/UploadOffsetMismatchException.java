@@ -0,0 +1,17 @@
+package com.vibeworks.planning.util.exceptions;
+
+import lombok.Getter;
+
+/**
+ * A chunk or completion request that does not line up with the bytes received so far. Carries
+ * the offset the client should resume from.
+ */
+@Getter
+public class UploadOffsetMismatchException extends RuntimeException {
+    private final long offset;
+    
+    public UploadOffsetMismatchException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+}
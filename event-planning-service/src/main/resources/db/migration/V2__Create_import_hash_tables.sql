@@ -0,0 +1,19 @@
+-- Content hashes of imported files, with the result returned for them
+CREATE TABLE IF NOT EXISTS import_files (
+    id BIGSERIAL PRIMARY KEY,
+    import_type VARCHAR(20) NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    file_name VARCHAR(255),
+    result TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (import_type, content_hash)
+);
+
+-- Content hash of the last imported version of each row, keyed by the row's unique value
+CREATE TABLE IF NOT EXISTS import_row_hashes (
+    import_type VARCHAR(20) NOT NULL,
+    row_key VARCHAR(255) NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (import_type, row_key)
+);
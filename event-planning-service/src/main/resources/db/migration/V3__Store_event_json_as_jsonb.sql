@@ -0,0 +1,21 @@
+-- Events table as it was created before migrations covered it; a no-op on existing databases
+CREATE TABLE IF NOT EXISTS events (
+    id BIGSERIAL PRIMARY KEY,
+    event_name VARCHAR(255) NOT NULL UNIQUE,
+    event_info TEXT,
+    start_date VARCHAR(255),
+    end_date VARCHAR(255),
+    event_date VARCHAR(255),
+    tasks TEXT,
+    assigned_members TEXT,
+    current_step INTEGER,
+    completed_steps TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Store the wizard's JSON documents as jsonb. Empty strings, which no longer parse, become null.
+ALTER TABLE events
+    ALTER COLUMN tasks TYPE JSONB USING NULLIF(tasks, '')::jsonb,
+    ALTER COLUMN assigned_members TYPE JSONB USING NULLIF(assigned_members, '')::jsonb,
+    ALTER COLUMN completed_steps TYPE JSONB USING NULLIF(completed_steps, '')::jsonb;
@@ -0,0 +1,2 @@
+-- Optimistic locking version, bumped by every update to an event
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
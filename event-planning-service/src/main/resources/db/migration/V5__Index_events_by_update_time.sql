@@ -0,0 +1,2 @@
+-- Serves the wizard listing, newest first, and its keyset pagination on (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_events_updated_at_id ON events (updated_at DESC, id DESC);
@@ -0,0 +1,64 @@
+-- Tasks table as it was created before migrations covered it; a no-op on existing databases
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    task VARCHAR(255) NOT NULL,
+    description TEXT,
+    priority VARCHAR(255),
+    duration_quantity DOUBLE PRECISION,
+    duration_unit VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Each row keeps the task exactly as the wizard sent it, plus its place in the event's list
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS position INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS data JSONB NOT NULL DEFAULT '{}'::jsonb;
+
+DELETE FROM tasks WHERE event_id NOT IN (SELECT id FROM events);
+ALTER TABLE tasks
+    ADD CONSTRAINT fk_tasks_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS idx_tasks_event_position ON tasks (event_id, position);
+
+-- Move every event's task list into rows. Titles, priorities and durations are copied out of
+-- the wizard's and the AI service's task shapes so they can be queried directly. The old column
+-- is only dropped once every list element has a row; otherwise the migration fails and rolls
+-- back with the column intact.
+DO $$
+DECLARE
+    expected_rows BIGINT;
+    copied_rows BIGINT;
+BEGIN
+    SELECT COALESCE(SUM(jsonb_array_length(tasks)), 0) INTO expected_rows
+    FROM events
+    WHERE jsonb_typeof(tasks) = 'array';
+
+    INSERT INTO tasks (event_id, task, description, priority, duration_quantity, duration_unit,
+                       position, data, created_at, updated_at)
+    SELECT e.id,
+           LEFT(COALESCE(t.data->>'task', t.data->>'taskTitle', t.data->>'title', ''), 255),
+           t.data->>'description',
+           t.data->>'priority',
+           CASE WHEN COALESCE(t.data->>'durationQuantity', t.data#>>'{estimated_duration,quantity}') ~ '^\s*[0-9]+(\.[0-9]+)?\s*$'
+                THEN COALESCE(t.data->>'durationQuantity', t.data#>>'{estimated_duration,quantity}')::double precision END,
+           COALESCE(t.data->>'durationUnit', t.data#>>'{estimated_duration,unit}'),
+           t.position - 1,
+           t.data,
+           e.created_at,
+           e.updated_at
+    FROM events e
+    CROSS JOIN LATERAL jsonb_array_elements(e.tasks) WITH ORDINALITY AS t(data, position)
+    WHERE jsonb_typeof(e.tasks) = 'array';
+    GET DIAGNOSTICS copied_rows = ROW_COUNT;
+
+    IF copied_rows <> expected_rows THEN
+        RAISE EXCEPTION 'Task backfill copied % rows, expected %; keeping events.tasks',
+            copied_rows, expected_rows;
+    END IF;
+END $$;
+
+ALTER TABLE events DROP COLUMN tasks;
+
+-- Hand out ids in blocks so new task rows can be inserted in JDBC batches
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
@@ -0,0 +1,37 @@
+-- Full-text search over event name (weight A), info (B) and task titles (C). The 'simple'
+-- configuration does not stem, so prefix queries match what users type.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION event_search_vector(p_event_id BIGINT, p_event_name TEXT, p_event_info TEXT)
+RETURNS TSVECTOR AS $$
+    SELECT setweight(to_tsvector('simple', COALESCE(p_event_name, '')), 'A')
+        || setweight(to_tsvector('simple', COALESCE(p_event_info, '')), 'B')
+        || setweight(to_tsvector('simple', COALESCE(
+               (SELECT string_agg(t.task, ' ') FROM tasks t WHERE t.event_id = p_event_id), '')), 'C')
+$$ LANGUAGE sql STABLE;
+
+-- Name and info changes are picked up here whichever path writes the event. Task titles live in
+-- another table; the application refreshes the vector once per task list change instead of
+-- having a per-row trigger on tasks rebuild it for every inserted task.
+CREATE OR REPLACE FUNCTION events_search_vector_trigger() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector := event_search_vector(NEW.id, NEW.event_name, NEW.event_info);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS events_search_vector_insert ON events;
+CREATE TRIGGER events_search_vector_insert
+    BEFORE INSERT ON events
+    FOR EACH ROW EXECUTE FUNCTION events_search_vector_trigger();
+
+DROP TRIGGER IF EXISTS events_search_vector_update ON events;
+CREATE TRIGGER events_search_vector_update
+    BEFORE UPDATE OF event_name, event_info ON events
+    FOR EACH ROW
+    WHEN (OLD.event_name IS DISTINCT FROM NEW.event_name OR OLD.event_info IS DISTINCT FROM NEW.event_info)
+    EXECUTE FUNCTION events_search_vector_trigger();
+
+UPDATE events SET search_vector = event_search_vector(id, event_name, event_info);
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
@@ -0,0 +1,28 @@
+-- Trigram indexes serve the member search's substring filters (ILIKE '%text%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Experience is free text such as "5-10", "3 to 5", "10+" or "4"; the search filters on the
+-- numeric range it describes. Generated columns keep the range in step on every write path.
+-- "10+" has an infinite upper bound; text without a leading number has no range at all.
+ALTER TABLE members
+    ADD COLUMN IF NOT EXISTS experience_min NUMERIC
+        GENERATED ALWAYS AS (substring(experience FROM '^\s*(\d+(?:\.\d+)?)')::numeric) STORED,
+    ADD COLUMN IF NOT EXISTS experience_max NUMERIC
+        GENERATED ALWAYS AS (
+            CASE WHEN experience ~ '^\s*\d+(\.\d+)?\s*\+' THEN 'Infinity'::numeric
+                 ELSE COALESCE(substring(experience FROM '^\s*\d+(?:\.\d+)?\s*(?:-|–|to)\s*(\d+(?:\.\d+)?)'),
+                               substring(experience FROM '^\s*(\d+(?:\.\d+)?)'))::numeric
+            END) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_members_specialized_in_trgm
+    ON members USING GIN (specialized_in gin_trgm_ops);
+
+-- Must match the expression the search filters on
+CREATE INDEX IF NOT EXISTS idx_members_search_text_trgm
+    ON members USING GIN ((COALESCE(first_name, '') || ' ' || COALESCE(last_name, '') || ' ' ||
+                           COALESCE(name, '') || ' ' || email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_members_experience ON members (experience_min, experience_max);
+
+-- Keyset pagination in listing order, newest first
+CREATE INDEX IF NOT EXISTS idx_members_created_at_id ON members (created_at DESC, id DESC);
@@ -0,0 +1,3 @@
+-- The import that last wrote or matched each row, so a key that repeats later in the same file is
+-- reported as a duplicate rather than as unchanged
+ALTER TABLE import_row_hashes ADD COLUMN IF NOT EXISTS import_id UUID;
@@ -0,0 +1,52 @@
+package com.vibeworks.planning;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base for tests that need the real database: the whole application against an embedded
+ * PostgreSQL, started once per test run and migrated by Flyway like production. Subclasses share
+ * one application context unless they change its properties, and should clean up the rows they
+ * commit.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "cache-invalidation.enabled=false"
+})
+public abstract class PostgresIntegrationTest {
+    
+    private static final EmbeddedPostgres POSTGRES = start();
+    
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+    
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException e) {
+                    // The process is going away either way
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
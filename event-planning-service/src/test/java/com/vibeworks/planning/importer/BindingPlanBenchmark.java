@@ -0,0 +1,171 @@
+package com.vibeworks.planning.importer;
+
+import com.vibeworks.planning.dto.CreateMemberRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds the same tokenized member rows with a compiled {@link BindingPlan} and with the
+ * per-row binding it replaced, which normalized every header cell again for each row, collected
+ * the row into a map and then looked each property up under all of its aliases.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=BindingPlanBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BindingPlanBenchmark {
+    
+    private static final List<String> HEADERS = List.of(
+            "Member Type", "First Name", "Last Name", "Entity Name", "Email", "Phone Number",
+            "WhatsApp", "Specialization", "Experience Years", "Address", "Is Offline", "Notes");
+    
+    @Param({"10000"})
+    private int rows;
+    
+    private final MemberImportSchema schema = new MemberImportSchema();
+    private List<TabularRow> data;
+    private TabularRow header;
+    
+    @Setup
+    public void setUp() {
+        header = TabularRow.of(HEADERS);
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean person = i % 3 != 0;
+            data.add(TabularRow.of(List.of(
+                    person ? "person" : "entity",
+                    person ? "First" + i : "",
+                    person ? "Last" + i : "",
+                    person ? "" : "Venue " + i,
+                    "member" + i + "@example.com",
+                    "+91 98450 " + (10000 + i % 90000),
+                    i % 2 == 0 ? "+91 98450 " + (20000 + i % 80000) : "",
+                    i % 4 == 0 ? "Catering" : "Photography",
+                    Integer.toString(i % 25),
+                    i + " Residency Road, Bengaluru",
+                    person ? "" : "yes",
+                    "  ")));
+        }
+    }
+    
+    @Benchmark
+    public void compiledPlan(Blackhole blackhole) {
+        BindingPlan<CreateMemberRequest> plan = BindingPlan.compile(schema, header);
+        for (TabularRow row : data) {
+            blackhole.consume(schema.complete(plan.bind(row)));
+        }
+    }
+    
+    @Benchmark
+    public void perRowMap(Blackhole blackhole) {
+        String[] headers = new String[header.size()];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = header.cell(i).toString();
+        }
+        for (TabularRow row : data) {
+            Map<String, Object> member = new HashMap<>();
+            for (int i = 0; i < headers.length && i < row.size(); i++) {
+                String normalizedHeader = normalizeHeader(headers[i].trim());
+                String value = row.cell(i).toString().trim();
+                if (!normalizedHeader.isEmpty() && !value.isEmpty()) {
+                    member.put(normalizedHeader, value);
+                }
+            }
+            if (!member.isEmpty()) {
+                blackhole.consume(mapToCreateRequest(member));
+            }
+        }
+    }
+    
+    // The per-row binding as it stood before BindingPlan, kept here as the baseline
+    
+    private static String normalizeHeader(String header) {
+        String lower = header.toLowerCase().trim();
+        
+        if (lower.contains("type") || lower.equals("membertype")) return "type";
+        if (lower.contains("first") && lower.contains("name")) return "firstName";
+        if (lower.contains("last") && lower.contains("name")) return "lastName";
+        if (lower.equals("name") || lower.contains("entityname")) return "name";
+        if (lower.contains("email")) return "email";
+        if (lower.contains("phone") && !lower.contains("whatsapp")) return "phone";
+        if (lower.contains("whatsapp") || lower.contains("whats app")) return "whatsapp";
+        if (lower.contains("specialized") || lower.contains("specialization")) return "specializedIn";
+        if (lower.contains("experience")) return "experience";
+        if (lower.contains("address")) return "address";
+        if (lower.contains("offline") || lower.contains("isoffline")) return "offline";
+        
+        return "";
+    }
+    
+    private static CreateMemberRequest mapToCreateRequest(Map<String, Object> data) {
+        CreateMemberRequest request = new CreateMemberRequest();
+        
+        String type = getStringValue(data, "type", "memberType", "Type");
+        if (type == null || type.isEmpty()) {
+            if (data.containsKey("firstName") || data.containsKey("first_name") || data.containsKey("First Name")) {
+                type = "person";
+            } else if (data.containsKey("name") || data.containsKey("Name") || data.containsKey("entityName")) {
+                type = "entity";
+            } else {
+                throw new RuntimeException("Cannot determine member type. Provide 'type' field or firstName/name");
+            }
+        }
+        request.setType(type.toLowerCase());
+        
+        if ("person".equals(request.getType())) {
+            request.setFirstName(getStringValue(data, "firstName", "first_name", "First Name", "First"));
+            request.setLastName(getStringValue(data, "lastName", "last_name", "Last Name", "Last"));
+        } else {
+            request.setName(getStringValue(data, "name", "Name", "entityName", "Entity Name"));
+            String offlineStr = getStringValue(data, "offline", "Offline", "isOffline", "Is Offline");
+            request.setOffline(offlineStr != null && (
+                offlineStr.equalsIgnoreCase("true") ||
+                offlineStr.equalsIgnoreCase("yes") ||
+                offlineStr.equals("1")
+            ));
+        }
+        
+        request.setEmail(getStringValue(data, "email", "Email", "emailAddress"));
+        if (request.getEmail() == null || request.getEmail().isEmpty()) {
+            throw new RuntimeException("Email is required");
+        }
+        
+        request.setPhone(getStringValue(data, "phone", "Phone", "phoneNumber", "Phone Number"));
+        request.setWhatsapp(getStringValue(data, "whatsapp", "WhatsApp", "Whats App", "whatsApp"));
+        request.setSpecializedIn(getStringValue(data, "specializedIn", "specialized_in", "Specialized In", "specialization", "Specialization"));
+        request.setExperience(getStringValue(data, "experience", "Experience", "experienceYears", "Experience Years"));
+        request.setAddress(getStringValue(data, "address", "Address"));
+        
+        return request;
+    }
+    
+    private static String getStringValue(Map<String, Object> data, String... keys) {
+        for (String key : keys) {
+            Object value = data.get(key);
+            if (value != null) {
+                return value.toString().trim();
+            }
+        }
+        return null;
+    }
+}
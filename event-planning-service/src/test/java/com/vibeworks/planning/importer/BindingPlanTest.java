@@ -0,0 +1,108 @@
+package com.vibeworks.planning.importer;
+
+import com.vibeworks.planning.dto.CreateMemberRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BindingPlanTest {
+    
+    private final MemberImportSchema schema = new MemberImportSchema();
+    
+    @Test
+    void bindsColumnsByNormalizedHeader() {
+        BindingPlan<CreateMemberRequest> plan = compile(" Member Type ", "First Name", "Email Address", "Phone Number", "WhatsApp");
+        
+        CreateMemberRequest request = plan.bind(row("person", "Asha", "asha@x.com", "123", "456"));
+        
+        assertThat(request.getType()).isEqualTo("person");
+        assertThat(request.getFirstName()).isEqualTo("Asha");
+        assertThat(request.getEmail()).isEqualTo("asha@x.com");
+        assertThat(request.getPhone()).isEqualTo("123");
+        assertThat(request.getWhatsapp()).isEqualTo("456");
+    }
+    
+    @Test
+    void ignoresUnmappedColumns() {
+        BindingPlan<CreateMemberRequest> plan = compile("Notes", "Email", "Internal Id");
+        
+        CreateMemberRequest request = plan.bind(row("call back", "a@x.com", "42"));
+        
+        assertThat(request.getEmail()).isEqualTo("a@x.com");
+        assertThat(request.getFirstName()).isNull();
+        assertThat(request.getAddress()).isNull();
+    }
+    
+    @Test
+    void trimsCellsAndSkipsBlankOnes() {
+        BindingPlan<CreateMemberRequest> plan = compile("Email", "Address", "Phone");
+        
+        CreateMemberRequest request = plan.bind(row("  a@x.com\t", "   ", ""));
+        
+        assertThat(request.getEmail()).isEqualTo("a@x.com");
+        assertThat(request.getAddress()).isNull();
+        assertThat(request.getPhone()).isNull();
+    }
+    
+    @Test
+    void rowWithoutMappedDataBindsToNull() {
+        BindingPlan<CreateMemberRequest> plan = compile("Notes", "Email");
+        
+        assertThat(plan.bind(row("something", "  "))).isNull();
+        assertThat(plan.capture(row("something", " "))).isNull();
+    }
+    
+    @Test
+    void shortRowsBindTheCellsTheyHave() {
+        BindingPlan<CreateMemberRequest> plan = compile("Email", "Phone", "Address");
+        
+        CreateMemberRequest request = plan.bind(row("a@x.com"));
+        
+        assertThat(request.getEmail()).isEqualTo("a@x.com");
+        assertThat(request.getPhone()).isNull();
+    }
+    
+    @Test
+    void laterNonBlankColumnWinsForTheSameField() {
+        BindingPlan<CreateMemberRequest> plan = compile("Email", "Email Address");
+        
+        assertThat(plan.bind(row("first@x.com", "second@x.com")).getEmail()).isEqualTo("second@x.com");
+        assertThat(plan.bind(row("first@x.com", "")).getEmail()).isEqualTo("first@x.com");
+    }
+    
+    @Test
+    void capturedValuesApplyLater() {
+        BindingPlan<CreateMemberRequest> plan = compile("Name", "Offline", "Email");
+        
+        String[] values = plan.capture(row("Acme Hall", "yes", "hall@x.com"));
+        CreateMemberRequest request = plan.apply(values);
+        
+        assertThat(request.getName()).isEqualTo("Acme Hall");
+        assertThat(request.getOffline()).isTrue();
+        assertThat(request.getEmail()).isEqualTo("hall@x.com");
+    }
+    
+    @Test
+    void bindRecordTakesTheFirstPresentKey() {
+        CreateMemberRequest request = BindingPlan.bindRecord(schema, Map.of(
+                "first_name", "Asha",
+                "First Name", "Ignored",
+                "Email", " asha@x.com ",
+                "experienceYears", 7));
+        
+        assertThat(request.getFirstName()).isEqualTo("Asha");
+        assertThat(request.getEmail()).isEqualTo("asha@x.com");
+        assertThat(request.getExperience()).isEqualTo("7");
+    }
+    
+    private BindingPlan<CreateMemberRequest> compile(String... headers) {
+        return BindingPlan.compile(schema, row(headers));
+    }
+    
+    private static TabularRow row(String... cells) {
+        return TabularRow.of(List.of(cells));
+    }
+}
@@ -0,0 +1,117 @@
+package com.vibeworks.planning.importer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenizes the same member CSV with {@link CsvTokenizer} and with the line-based parser it
+ * replaced, which read each line into a String and split it into a new String per field.
+ * Quoted fields hold commas and doubled quotes but no line breaks, which the old parser could
+ * not read.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=CsvTokenizerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvTokenizerBenchmark {
+    
+    @Param({"10000"})
+    private int rows;
+    
+    private String csv;
+    
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("type,firstName,lastName,name,email,phone,whatsapp,specializedIn,experience,address,offline\r\n");
+        for (int i = 0; i < rows; i++) {
+            boolean person = i % 3 != 0;
+            builder.append(person ? "person" : "entity").append(',')
+                    .append(person ? "First" + i : "").append(',')
+                    .append(person ? "Last" + i : "").append(',')
+                    .append(person ? "" : "\"Venue \"\"" + i + "\"\", Hall\"").append(',')
+                    .append("member").append(i).append("@example.com,")
+                    .append("+91 98450 ").append(10000 + i % 90000).append(',')
+                    .append(i % 2 == 0 ? "+91 98450 " + (20000 + i % 80000) : "").append(',')
+                    .append(i % 4 == 0 ? "Catering" : "Photography").append(',')
+                    .append(i % 25).append(',')
+                    .append('"').append(i).append(" Residency Road, Bengaluru\",")
+                    .append(person ? "" : "yes").append("\r\n");
+        }
+        csv = builder.toString();
+    }
+    
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv))) {
+            while (tokenizer.next()) {
+                if (tokenizer.isBlankLine()) continue;
+                for (int i = 0; i < tokenizer.size(); i++) {
+                    blackhole.consume(tokenizer.cell(i).length());
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public void lineParser(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                for (String value : parseCsvLine(line)) {
+                    blackhole.consume(value.length());
+                }
+            }
+        }
+    }
+    
+    // The line-based parser as it stood before CsvTokenizer, kept here as the baseline
+    
+    private static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                values.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        
+        return values.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,125 @@
+package com.vibeworks.planning.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTokenizerTest {
+    
+    @Test
+    void splitsRecordsOnCrlfLfAndCr() throws IOException {
+        assertThat(tokenize("a,b\r\nc,d\ne,f\rg,h\n")).containsExactly(
+                List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h"));
+    }
+    
+    @Test
+    void keepsLineBreaksInsideQuotes() throws IOException {
+        assertThat(tokenize("name,address\r\nAcme,\"12 Main St\r\nSuite 4\"\r\nNext,x\r\n")).containsExactly(
+                List.of("name", "address"),
+                List.of("Acme", "12 Main St\r\nSuite 4"),
+                List.of("Next", "x"));
+    }
+    
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        assertThat(tokenize("\"She said \"\"hi\"\"\",\"\"\"\"\n")).containsExactly(
+                List.of("She said \"hi\"", "\""));
+    }
+    
+    @Test
+    void keepsCommasInsideQuotes() throws IOException {
+        assertThat(tokenize("\"Pune, MH\",India\n")).containsExactly(List.of("Pune, MH", "India"));
+    }
+    
+    @Test
+    void trailingCommaEndsWithAnEmptyField() throws IOException {
+        assertThat(tokenize("a,b,\n,,\n")).containsExactly(List.of("a", "b", ""), List.of("", "", ""));
+    }
+    
+    @Test
+    void skipsLeadingByteOrderMark() throws IOException {
+        assertThat(tokenize("\uFEFFemail,phone\na@x.com,1\n")).containsExactly(
+                List.of("email", "phone"), List.of("a@x.com", "1"));
+    }
+    
+    @Test
+    void byteOrderMarkAloneIsEmptyInput() throws IOException {
+        assertThat(tokenize("\uFEFF")).isEmpty();
+    }
+    
+    @Test
+    void readsFinalRecordWithoutLineBreak() throws IOException {
+        assertThat(tokenize("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+        assertThat(tokenize("a,\"quoted\"")).containsExactly(List.of("a", "quoted"));
+    }
+    
+    @Test
+    void detectsBlankLines() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b\n  \n\n,\n"))) {
+            List<Boolean> blank = new ArrayList<>();
+            while (tokenizer.next()) {
+                blank.add(tokenizer.isBlankLine());
+            }
+            assertThat(blank).containsExactly(false, true, true, false);
+        }
+    }
+    
+    @Test
+    void handlesRecordsSplitAcrossReads() throws IOException {
+        String csv = "\uFEFFname,notes\r\n\"Acme\",\"line one\r\nline \"\"two\"\"\"\r\nlast,\r\n";
+        
+        assertThat(tokenize(new OneCharReader(csv))).isEqualTo(tokenize(csv)).containsExactly(
+                List.of("name", "notes"),
+                List.of("Acme", "line one\r\nline \"two\""),
+                List.of("last", ""));
+    }
+    
+    private static List<List<String>> tokenize(String csv) throws IOException {
+        return tokenize(new StringReader(csv));
+    }
+    
+    private static List<List<String>> tokenize(Reader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(reader)) {
+            while (tokenizer.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < tokenizer.size(); i++) {
+                    fields.add(tokenizer.cell(i).toString());
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Hands out one character per read, so every delimiter lands on a buffer boundary.
+     */
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position = 0;
+        
+        OneCharReader(String text) {
+            this.text = text;
+        }
+        
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
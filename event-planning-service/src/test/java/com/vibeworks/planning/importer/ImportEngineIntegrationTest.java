@@ -0,0 +1,217 @@
+package com.vibeworks.planning.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.dto.CreateMemberRequest;
+import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.service.EventService;
+import com.vibeworks.planning.service.MemberService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Member imports through the whole pipeline, with small chunks and a single writer thread so
+ * that chunk boundaries and waiting for the writer pool are exercised.
+ */
+@TestPropertySource(properties = {
+    "import.chunk-size=2",
+    "import.pipeline.writer-threads=1"
+})
+class ImportEngineIntegrationTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @TempDir
+    private Path directory;
+    
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM members WHERE email LIKE '%@engine.test'");
+        jdbcTemplate.update("DELETE FROM import_row_hashes WHERE row_key LIKE '%@engine.test'");
+        jdbcTemplate.update("DELETE FROM import_files");
+        jdbcTemplate.update("DELETE FROM events WHERE event_name LIKE 'Engine %'");
+        jdbcTemplate.update("DELETE FROM import_row_hashes WHERE row_key LIKE 'Engine %'");
+    }
+    
+    @Test
+    @Timeout(60)
+    void sheetsShareTheBoundedWriterPool() throws Exception {
+        Path workbook = directory.resolve("members.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(workbook)) {
+            for (String region : new String[] {"North", "South", "East", "West"}) {
+                Sheet sheet = book.createSheet(region);
+                row(sheet, 0, "Type", "First Name", "Email");
+                for (int i = 1; i <= 5; i++) {
+                    row(sheet, i, "person", region + i, region.toLowerCase() + i + "@engine.test");
+                }
+            }
+            book.write(out);
+        }
+        
+        ImportResult<MemberResponse> result = memberService.importMembers(
+                ImportSource.of("members.xlsx", workbook), new ImportResult<>(), ImportOptions.defaults());
+        
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getSuccessful()).isEqualTo(20);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM members WHERE email LIKE '%@engine.test'", Integer.class)).isEqualTo(20);
+    }
+    
+    @Test
+    void keyRepeatedInALaterChunkIsADuplicateEvenWhenUnchanged() throws Exception {
+        ImportResult<MemberResponse> first = importCsv("first.csv",
+                "type,firstName,email",
+                "person,Asha,asha@engine.test",
+                "person,Ravi,ravi@engine.test");
+        assertThat(first.getSuccessful()).isEqualTo(2);
+        
+        // Chunks of two: the repeated row lands in the second chunk, after Asha's hash is matched
+        ImportResult<MemberResponse> second = importCsv("second.csv",
+                "type,firstName,email",
+                "person,Asha,asha@engine.test",
+                "person,Ravi,ravi@engine.test",
+                "person,Asha,asha@engine.test",
+                "person,Mira,mira@engine.test");
+        
+        assertThat(second.getSkipped()).isEqualTo(2);
+        assertThat(second.getSuccessful()).isEqualTo(1);
+        assertThat(second.getErrors()).containsExactly("Row 3: Member with email 'asha@engine.test' already exists");
+    }
+    
+    @Test
+    void keyRepeatedInALaterChunkOfANewImportIsADuplicate() throws Exception {
+        ImportResult<MemberResponse> result = importCsv("repeat.csv",
+                "type,firstName,email",
+                "person,Asha,asha@engine.test",
+                "person,Ravi,ravi@engine.test",
+                "person,Asha,asha@engine.test");
+        
+        assertThat(result.getSuccessful()).isEqualTo(2);
+        assertThat(result.getSkipped()).isZero();
+        assertThat(result.getErrors()).containsExactly("Row 3: Member with email 'asha@engine.test' already exists");
+    }
+    
+    @Test
+    void replayOfAnIdenticalFileReturnsTheSameResult() throws Exception {
+        String[] lines = {"type,firstName,email", "person,Asha,asha@engine.test", "person,Ravi,"};
+        ImportResult<MemberResponse> first = importCsv("replay.csv", lines);
+        
+        ImportResult<MemberResponse> replay = importCsv("replay.csv", lines);
+        
+        assertThat(replay.isCached()).isTrue();
+        assertThat(replay.getSuccessful()).isEqualTo(first.getSuccessful()).isEqualTo(1);
+        assertThat(replay.getErrors()).isEqualTo(first.getErrors());
+        assertThat(replay.getImported()).hasSize(1).first().satisfies(member -> {
+            assertThat(member).isInstanceOf(MemberResponse.class);
+            assertThat(member.getEmail()).isEqualTo("asha@engine.test");
+            assertThat(member.getId()).isEqualTo(first.getImported().get(0).getId());
+        });
+    }
+    
+    @Test
+    void replayOfAnIdenticalEventsFileReturnsTheStoredDocuments() throws Exception {
+        String[] lines = {"[{\"eventName\": \"Engine Gala\", \"tasks\": [{\"task\": \"Book hall\"}], " +
+                "\"assignedMembers\": [{\"memberId\": 3}], \"completedSteps\": [1, 2]}]"};
+        ImportResult<WizardDataResponse> first = importEventsJson("replay.json", lines);
+        
+        ImportResult<WizardDataResponse> replay = importEventsJson("replay.json", lines);
+        
+        assertThat(replay.isCached()).isTrue();
+        assertThat(replay.getImported()).hasSize(1).first().satisfies(event -> {
+            WizardDataResponse original = first.getImported().get(0);
+            assertThat(event.getId()).isEqualTo(original.getId());
+            assertThat(objectMapper.readTree(event.getTasks())).isEqualTo(objectMapper.readTree(original.getTasks()));
+            assertThat(objectMapper.readTree(event.getAssignedMembers()))
+                    .isEqualTo(objectMapper.readTree("[{\"memberId\": 3}]"));
+            assertThat(objectMapper.readTree(event.getCompletedSteps())).isEqualTo(objectMapper.readTree("[1, 2]"));
+        });
+    }
+    
+    @Test
+    void memberEditedSinceTheImportIsNotSkippedAsUnchanged() throws Exception {
+        String[] lines = {"type,firstName,email", "person,Asha,asha@engine.test"};
+        ImportResult<MemberResponse> first = importCsv("edited.csv", lines);
+        CreateMemberRequest edit = new CreateMemberRequest();
+        edit.setType("person");
+        edit.setFirstName("Asha Rao");
+        edit.setEmail("asha@engine.test");
+        memberService.updateMember(first.getImported().get(0).getId(), edit);
+        
+        ImportResult<MemberResponse> replay = importCsv("edited.csv", lines);
+        
+        assertThat(replay.isCached()).isFalse();
+        assertThat(replay.getSkipped()).isZero();
+        assertThat(replay.getErrors()).containsExactly("Row 1: Member with email 'asha@engine.test' already exists");
+        assertThat(memberService.getMemberById(first.getImported().get(0).getId()).getFirstName()).isEqualTo("Asha Rao");
+    }
+    
+    @Test
+    void eventDeletedSinceTheImportIsImportedAgain() throws Exception {
+        String[] lines = {"[{\"eventName\": \"Engine Expo\", \"tasks\": [{\"task\": \"Book hall\"}]}]"};
+        ImportResult<WizardDataResponse> first = importEventsJson("deleted.json", lines);
+        eventService.deleteWizardData("Engine Expo");
+        
+        ImportResult<WizardDataResponse> replay = importEventsJson("deleted.json", lines);
+        
+        assertThat(replay.isCached()).isFalse();
+        assertThat(replay.getSuccessful()).isEqualTo(1);
+        assertThat(replay.getImported().get(0).getId()).isNotEqualTo(first.getImported().get(0).getId());
+        assertThat(eventService.getWizardData("Engine Expo").getId()).isEqualTo(replay.getImported().get(0).getId());
+    }
+    
+    @Test
+    void resultIsNotStoredWhenAChunkFailsToWrite() throws Exception {
+        // The type check constraint rejects the first chunk in the database
+        String[] lines = {"type,firstName,email", "robot,Asha,asha@engine.test", "person,Ravi,ravi@engine.test",
+                "person,Mira,mira@engine.test"};
+        ImportResult<MemberResponse> first = importCsv("flaky.csv", lines);
+        assertThat(first.getFailed()).isEqualTo(2);
+        assertThat(first.getSuccessful()).isEqualTo(1);
+        
+        ImportResult<MemberResponse> retry = importCsv("flaky.csv", lines);
+        
+        assertThat(retry.isCached()).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM import_files", Integer.class)).isZero();
+    }
+    
+    private ImportResult<MemberResponse> importCsv(String fileName, String... lines) throws Exception {
+        Path file = directory.resolve(fileName);
+        Files.write(file, List.of(lines));
+        return memberService.importMembers(ImportSource.of(fileName, file), new ImportResult<>(), ImportOptions.defaults());
+    }
+    
+    private ImportResult<WizardDataResponse> importEventsJson(String fileName, String... lines) throws Exception {
+        Path file = directory.resolve(fileName);
+        Files.write(file, List.of(lines));
+        return eventService.importEvents(ImportSource.of(fileName, file), new ImportResult<>(), ImportOptions.defaults());
+    }
+    
+    private static void row(Sheet sheet, int index, String... cells) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < cells.length; i++) {
+            row.createCell(i).setCellValue(cells[i]);
+        }
+    }
+}
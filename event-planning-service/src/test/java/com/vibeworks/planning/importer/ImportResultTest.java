@@ -0,0 +1,52 @@
+package com.vibeworks.planning.importer;
+
+import com.vibeworks.planning.util.exceptions.InvalidImportOptionsException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportResultTest {
+    
+    @Test
+    void countsOnlyKeepsTheFirstErrorsAndCountsTheRest() {
+        ImportResult<String> result = ImportResult.countsOnly(2);
+        for (int row = 2; row <= 6; row++) {
+            result.recordFailed(row, "Email is required");
+        }
+        
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getErrors()).containsExactly(
+                "Row 2: Email is required",
+                "Row 3: Email is required",
+                "... and 3 more errors");
+    }
+    
+    @Test
+    void countsOnlyDropsImportedEntities() {
+        ImportResult<String> result = ImportResult.countsOnly(10);
+        result.recordImported("member");
+        
+        assertThat(result.getSuccessful()).isEqualTo(1);
+        assertThat(result.getImported()).isEmpty();
+    }
+    
+    @Test
+    void errorsAreListedBySection() {
+        ImportResult<String> result = new ImportResult<>();
+        result.recordFailed(1, "South row 4", "bad date");
+        result.recordFailed(0, "North row 2", "bad email");
+        
+        assertThat(result.getErrors()).containsExactly("North row 2: bad email", "South row 4: bad date");
+    }
+    
+    @Test
+    void unsupportedModeIsRejectedWhenOptionsAreBuilt() {
+        assertThatThrownBy(() -> new ImportOptions("bulk", null))
+                .isInstanceOf(InvalidImportOptionsException.class)
+                .hasMessageContaining("Unsupported import mode: bulk");
+        assertThatCode(() -> new ImportOptions(" COPY ", null)).doesNotThrowAnyException();
+        assertThatCode(() -> new ImportOptions("", null)).doesNotThrowAnyException();
+    }
+}
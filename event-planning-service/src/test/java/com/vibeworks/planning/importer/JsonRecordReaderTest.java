@@ -0,0 +1,64 @@
+package com.vibeworks.planning.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonRecordReaderTest {
+    
+    private JsonRecordReader reader;
+    
+    @BeforeEach
+    void setUp() {
+        reader = new JsonRecordReader();
+        ReflectionTestUtils.setField(reader, "objectMapper", new ObjectMapper());
+    }
+    
+    @Test
+    void readsEachElementOfTheTopLevelArray() throws Exception {
+        List<Map<String, Object>> records = read("""
+                [
+                  {"type": "person", "email": "a@x.com", "tags": ["x", "y"]},
+                  {"type": "entity", "email": "b@x.com", "address": {"city": "Pune"}},
+                  {"type": "person", "email": "c@x.com", "offline": null}
+                ]
+                """);
+        
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0)).containsEntry("email", "a@x.com").containsEntry("tags", List.of("x", "y"));
+        assertThat(records.get(1)).containsEntry("address", Map.of("city", "Pune"));
+        assertThat(records.get(2)).containsEntry("email", "c@x.com").containsEntry("offline", null);
+    }
+    
+    @Test
+    void emptyArrayReadsNothing() throws Exception {
+        assertThat(read("[]")).isEmpty();
+    }
+    
+    @Test
+    void rejectsAnythingButAnArray() {
+        assertThatThrownBy(() -> read("{\"email\": \"a@x.com\"}"))
+                .hasMessageContaining("must contain an array of records");
+    }
+    
+    @Test
+    void rejectsAnEmptyFile() {
+        assertThatThrownBy(() -> read("")).hasMessageContaining("empty");
+    }
+    
+    private List<Map<String, Object>> read(String json) throws Exception {
+        List<Map<String, Object>> records = new ArrayList<>();
+        reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), records::add);
+        return records;
+    }
+}
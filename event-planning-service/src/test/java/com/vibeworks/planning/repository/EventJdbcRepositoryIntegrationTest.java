@@ -0,0 +1,165 @@
+package com.vibeworks.planning.repository;
+
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.model.Event;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class EventJdbcRepositoryIntegrationTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private EventJdbcRepository eventJdbcRepository;
+    
+    @Test
+    void copyInsertMergesStagedEventsAndReturnsTheInsertedRows() {
+        Event conference = event("Copy Conference");
+        conference.setEventInfo("Two days, \"all hands\"\nwith dinner");
+        conference.setAssignedMembers("[{\"memberId\": 1, \"role\": \"host\"}]");
+        conference.setCompletedSteps("[1, 2]");
+        conference.setCurrentStep(3);
+        Event meetup = event("Copy Meetup");
+        
+        List<Event> inserted = eventJdbcRepository.copyInsert(List.of(conference, meetup));
+        
+        assertThat(inserted).extracting(Event::getEventName).containsExactly("Copy Conference", "Copy Meetup");
+        assertThat(inserted).allSatisfy(event -> {
+            assertThat(event.getId()).isNotNull();
+            assertThat(event.getVersion()).isNotNull();
+        });
+        
+        Map<String, Object> stored = jdbcTemplate.queryForMap(
+                "SELECT event_info, current_step, jsonb_typeof(assigned_members) AS members_type, " +
+                "assigned_members -> 0 ->> 'role' AS role, jsonb_array_length(completed_steps) AS steps " +
+                "FROM events WHERE event_name = 'Copy Conference'");
+        assertThat(stored).containsEntry("event_info", "Two days, \"all hands\"\nwith dinner")
+                .containsEntry("current_step", 3)
+                .containsEntry("members_type", "array")
+                .containsEntry("role", "host")
+                .containsEntry("steps", 2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT assigned_members IS NULL FROM events WHERE event_name = 'Copy Meetup'", Boolean.class)).isTrue();
+    }
+    
+    @Test
+    void copyInsertSkipsNamesThatExistOrRepeat() {
+        eventJdbcRepository.copyInsert(List.of(event("Copy Taken")));
+        
+        Event again = event("Copy Taken");
+        again.setEventInfo("second");
+        Event fresh = event("Copy Fresh");
+        fresh.setEventInfo("first of two");
+        Event repeat = event("Copy Fresh");
+        repeat.setEventInfo("second of two");
+        
+        List<Event> inserted = eventJdbcRepository.copyInsert(List.of(again, fresh, repeat));
+        
+        assertThat(inserted).extracting(Event::getEventInfo).containsExactly("first of two");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT event_info IS NULL FROM events WHERE event_name = 'Copy Taken'", Boolean.class)).isTrue();
+    }
+    
+    @Test
+    void upsertWizardInsertsANewNameAndOverwritesAnExistingOne() {
+        Event first = event("Upsert Event");
+        first.setEventInfo("first");
+        first.setAssignedMembers("[]");
+        first.setCompletedSteps("[1]");
+        Event inserted = eventJdbcRepository.upsertWizard(first);
+        
+        Event second = event("Upsert Event");
+        second.setEventInfo("second");
+        second.setAssignedMembers("[{\"memberId\": 4}]");
+        second.setCompletedSteps("[1, 2]");
+        second.setCurrentStep(3);
+        Event updated = eventJdbcRepository.upsertWizard(second);
+        
+        assertThat(updated.getId()).isEqualTo(inserted.getId());
+        assertThat(updated.getVersion()).isEqualTo(inserted.getVersion() + 1);
+        assertThat(updated.getEventInfo()).isEqualTo("second");
+        assertThat(updated.getCurrentStep()).isEqualTo(3);
+        assertThat(updated.getCreatedAt()).isEqualTo(inserted.getCreatedAt());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT assigned_members -> 0 ->> 'memberId' FROM events WHERE id = ?", String.class, updated.getId()))
+                .isEqualTo("4");
+    }
+    
+    @Test
+    void versionedUpsertOnlyOverwritesTheExpectedVersion() {
+        Event stored = eventJdbcRepository.upsertWizard(event("Upsert Versioned"));
+        
+        Event stale = event("Upsert Versioned");
+        stale.setEventInfo("stale");
+        Optional<Event> rejected = eventJdbcRepository.upsertWizard(stale, stored.getVersion() - 1);
+        Event current = event("Upsert Versioned");
+        current.setEventInfo("current");
+        Optional<Event> accepted = eventJdbcRepository.upsertWizard(current, stored.getVersion());
+        
+        assertThat(rejected).isEmpty();
+        assertThat(accepted).hasValueSatisfying(event -> {
+            assertThat(event.getId()).isEqualTo(stored.getId());
+            assertThat(event.getVersion()).isEqualTo(stored.getVersion() + 1);
+            assertThat(event.getEventInfo()).isEqualTo("current");
+        });
+    }
+    
+    @Test
+    void versionedUpsertWithoutAVersionOnlyInserts() {
+        Optional<Event> created = eventJdbcRepository.upsertWizard(event("Upsert New"), null);
+        Optional<Event> again = eventJdbcRepository.upsertWizard(event("Upsert New"), null);
+        
+        assertThat(created).isPresent();
+        assertThat(again).isEmpty();
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentSavesOfANewNameAllSucceedOnOneRow() throws Exception {
+        int saves = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(saves);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Event>> results = new ArrayList<>();
+            for (int i = 0; i < saves; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return eventJdbcRepository.upsertWizard(event("Upsert Race"));
+                }));
+            }
+            start.countDown();
+            
+            List<Long> ids = new ArrayList<>();
+            for (Future<Event> result : results) {
+                ids.add(result.get(30, TimeUnit.SECONDS).getId());
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT version FROM events WHERE event_name = 'Upsert Race'", Long.class)).isEqualTo(saves - 1);
+        } finally {
+            pool.shutdownNow();
+            jdbcTemplate.update("DELETE FROM events WHERE event_name = 'Upsert Race'");
+        }
+    }
+    
+    private static Event event(String name) {
+        Event event = new Event();
+        event.setEventName(name);
+        event.setStartDate("2026-11-01");
+        event.setEndDate("2026-11-02");
+        return event;
+    }
+}
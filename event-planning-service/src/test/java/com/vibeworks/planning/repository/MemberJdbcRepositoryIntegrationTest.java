@@ -0,0 +1,229 @@
+package com.vibeworks.planning.repository;
+
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.dto.MemberSearchCriteria;
+import com.vibeworks.planning.model.Member;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+class MemberJdbcRepositoryIntegrationTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private MemberJdbcRepository memberJdbcRepository;
+    
+    @Test
+    void copyInsertStoresEveryColumnAndReturnsTheInsertedRows() {
+        Member person = person("asha@copy.test", "Asha");
+        person.setPhone("+91 98450 10000");
+        person.setAddress("12 Main St, \"Block B\"\nPune");
+        Member entity = entity("hall@copy.test", "Acme Hall");
+        entity.setOffline(true);
+        entity.setExperience("");
+        
+        List<Member> inserted = memberJdbcRepository.copyInsert(List.of(person, entity));
+        
+        assertThat(inserted).extracting(Member::getEmail).containsExactly("asha@copy.test", "hall@copy.test");
+        assertThat(inserted).allSatisfy(member -> {
+            assertThat(member.getId()).isNotNull();
+            assertThat(member.getCreatedAt()).isNotNull();
+        });
+        
+        Member stored = jdbcTemplate.queryForObject(
+                "SELECT first_name, phone, address, offline, experience FROM members WHERE email = ?",
+                (rs, rowNum) -> {
+                    Member member = new Member();
+                    member.setFirstName(rs.getString("first_name"));
+                    member.setPhone(rs.getString("phone"));
+                    member.setAddress(rs.getString("address"));
+                    member.setOffline(rs.getBoolean("offline"));
+                    member.setExperience(rs.getString("experience"));
+                    return member;
+                }, "asha@copy.test");
+        assertThat(stored.getFirstName()).isEqualTo("Asha");
+        assertThat(stored.getPhone()).isEqualTo("+91 98450 10000");
+        assertThat(stored.getAddress()).isEqualTo("12 Main St, \"Block B\"\nPune");
+        assertThat(stored.getOffline()).isFalse();
+        assertThat(stored.getExperience()).isNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT experience FROM members WHERE email = 'hall@copy.test'", String.class)).isEmpty();
+    }
+    
+    @Test
+    void copyInsertSkipsEmailsThatExistOrRepeat() {
+        memberJdbcRepository.copyInsert(List.of(person("taken@copy.test", "First")));
+        
+        List<Member> inserted = memberJdbcRepository.copyInsert(List.of(
+                person("taken@copy.test", "Second"),
+                person("new@copy.test", "Third"),
+                person("new@copy.test", "Fourth"),
+                person("other@copy.test", "Fifth")));
+        
+        assertThat(inserted).extracting(Member::getFirstName).containsExactly("Third", "Fifth");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT first_name FROM members WHERE email = 'taken@copy.test'", String.class)).isEqualTo("First");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM members WHERE email LIKE '%@copy.test'", Integer.class)).isEqualTo(3);
+    }
+    
+    @Test
+    void stagingTableIsEmptyForTheNextChunk() {
+        memberJdbcRepository.copyInsert(List.of(person("a@copy.test", "A")));
+        
+        List<Member> inserted = memberJdbcRepository.copyInsert(List.of(person("b@copy.test", "B")));
+        
+        assertThat(inserted).extracting(Member::getEmail).containsExactly("b@copy.test");
+    }
+    
+    @Test
+    void insertIfAbsentOnlyInsertsANewEmail() {
+        Optional<Member> inserted = memberJdbcRepository.insertIfAbsent(person("once@upsert.test", "First"));
+        Optional<Member> again = memberJdbcRepository.insertIfAbsent(person("once@upsert.test", "Second"));
+        
+        assertThat(inserted).hasValueSatisfying(member -> {
+            assertThat(member.getId()).isNotNull();
+            assertThat(member.getFirstName()).isEqualTo("First");
+            assertThat(member.getOffline()).isFalse();
+        });
+        assertThat(again).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT first_name FROM members WHERE email = 'once@upsert.test'", String.class)).isEqualTo("First");
+    }
+    
+    @Test
+    void updateOverwritesTheMemberAndKeepsTheFlagWhenNull() {
+        Member offline = person("edit@upsert.test", "Before");
+        offline.setOffline(true);
+        Long id = memberJdbcRepository.insertIfAbsent(offline).orElseThrow().getId();
+        
+        Member changes = person("edited@upsert.test", "After");
+        changes.setPhone("+91 98450 20000");
+        changes.setOffline(null);
+        Optional<Member> updated = memberJdbcRepository.update(id, changes);
+        
+        assertThat(updated).hasValueSatisfying(member -> {
+            assertThat(member.getId()).isEqualTo(id);
+            assertThat(member.getEmail()).isEqualTo("edited@upsert.test");
+            assertThat(member.getFirstName()).isEqualTo("After");
+            assertThat(member.getPhone()).isEqualTo("+91 98450 20000");
+            assertThat(member.getOffline()).isTrue();
+        });
+    }
+    
+    @Test
+    void updateOfAMissingMemberIsEmpty() {
+        assertThat(memberJdbcRepository.update(-1L, person("nobody@upsert.test", "Nobody"))).isEmpty();
+    }
+    
+    @Test
+    void updateCannotTakeAnotherMembersEmail() {
+        memberJdbcRepository.insertIfAbsent(person("taken@upsert.test", "Taken"));
+        Long id = memberJdbcRepository.insertIfAbsent(person("mine@upsert.test", "Mine")).orElseThrow().getId();
+        
+        assertThatThrownBy(() -> memberJdbcRepository.update(id, person("taken@upsert.test", "Mine")))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+    
+    @Test
+    void searchAppliesEveryFilterThatIsSet() {
+        Member junior = person("junior@search.test", "Zyxjunior");
+        junior.setSpecializedIn("Stage Lighting");
+        junior.setExperience("1-3 years");
+        Member senior = person("senior@search.test", "Zyxsenior");
+        senior.setSpecializedIn("Lighting design");
+        senior.setExperience("10+");
+        Member hall = entity("hall@search.test", "Zyxhall");
+        hall.setOffline(true);
+        hall.setExperience("5");
+        memberJdbcRepository.copyInsert(List.of(junior, senior, hall));
+        
+        assertThat(emails(criteria(c -> c.setType(" Person ")))).containsExactlyInAnyOrder(
+                "junior@search.test", "senior@search.test");
+        assertThat(emails(criteria(c -> c.setSpecializedIn("lighting")))).containsExactlyInAnyOrder(
+                "junior@search.test", "senior@search.test");
+        assertThat(emails(criteria(c -> c.setOffline(true)))).containsExactly("hall@search.test");
+        assertThat(emails(criteria(c -> {
+            c.setExperienceMin(2.0);
+            c.setExperienceMax(6.0);
+        }))).containsExactlyInAnyOrder("junior@search.test", "hall@search.test");
+        // "10+" has no upper bound
+        assertThat(emails(criteria(c -> c.setExperienceMin(25.0)))).containsExactly("senior@search.test");
+        assertThat(emails(criteria(c -> {
+            c.setSpecializedIn("lighting");
+            c.setExperienceMax(2.0);
+        }))).containsExactly("junior@search.test");
+    }
+    
+    @Test
+    void freeTextMatchesNamesAndEmailWithWildcardsTakenLiterally() {
+        memberJdbcRepository.copyInsert(List.of(
+                person("plain@search.test", "Zyxplain"),
+                person("under_score@search.test", "Other"),
+                person("underXscore@search.test", "Other")));
+        
+        assertThat(emails(criteria(c -> c.setQ("ZYXPLA")))).containsExactly("plain@search.test");
+        assertThat(emails(criteria(c -> c.setQ("under_score")))).containsExactly("under_score@search.test");
+        assertThat(emails(criteria(c -> c.setQ("100%")))).isEmpty();
+    }
+    
+    @Test
+    void searchPagesNewestFirstFromThePosition() {
+        memberJdbcRepository.copyInsert(List.of(
+                person("a@paged.test", "A"), person("b@paged.test", "B"), person("c@paged.test", "C")));
+        MemberSearchCriteria paged = criteria(c -> c.setQ("@paged.test"));
+        
+        List<Member> first = memberJdbcRepository.search(paged, null, null, 2);
+        Member last = first.get(1);
+        List<Member> rest = memberJdbcRepository.search(paged, last.getCreatedAt(), last.getId(), 2);
+        
+        // One COPY gives every row the same creation time, so the id decides the order
+        assertThat(first).extracting(Member::getEmail).containsExactly("c@paged.test", "b@paged.test");
+        assertThat(rest).extracting(Member::getEmail).containsExactly("a@paged.test");
+    }
+    
+    @Test
+    void estimateCountComesFromThePlanner() {
+        memberJdbcRepository.copyInsert(List.of(person("a@estimate.test", "A"), person("b@estimate.test", "B")));
+        
+        assertThat(memberJdbcRepository.estimateCount(new MemberSearchCriteria())).isPositive();
+        assertThat(memberJdbcRepository.estimateCount(criteria(c -> c.setType("entity")))).isNotNegative();
+    }
+    
+    private List<String> emails(MemberSearchCriteria criteria) {
+        return memberJdbcRepository.search(criteria, null, null, 50).stream()
+                .map(Member::getEmail)
+                .filter(email -> email.endsWith("@search.test"))
+                .toList();
+    }
+    
+    private static MemberSearchCriteria criteria(Consumer<MemberSearchCriteria> filters) {
+        MemberSearchCriteria criteria = new MemberSearchCriteria();
+        filters.accept(criteria);
+        return criteria;
+    }
+    
+    private static Member person(String email, String firstName) {
+        Member member = new Member();
+        member.setType("person");
+        member.setFirstName(firstName);
+        member.setEmail(email);
+        return member;
+    }
+    
+    private static Member entity(String email, String name) {
+        Member member = new Member();
+        member.setType("entity");
+        member.setName(name);
+        member.setEmail(email);
+        return member;
+    }
+}
@@ -0,0 +1,173 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.dto.CreateMemberRequest;
+import com.vibeworks.planning.dto.MemberResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The invalidation bus on a real PostgreSQL channel. Other instances are played by a plain
+ * listening connection and by notifications sent with another instance id.
+ */
+@TestPropertySource(properties = "cache-invalidation.enabled=true")
+class CacheInvalidationBusIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final long TIMEOUT_MS = 10_000;
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private Connection listener;
+    
+    @BeforeEach
+    void listen() throws Exception {
+        listener = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+        }
+    }
+    
+    @AfterEach
+    void cleanUp() throws Exception {
+        listener.close();
+        jdbcTemplate.update("DELETE FROM members WHERE email LIKE '%@bus.test'");
+    }
+    
+    @Test
+    void publishedIdsReachOtherListeners() throws Exception {
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.EVENT, List.of(7L, 8L));
+        
+        List<String> payloads = receive(1);
+        assertThat(payloads).singleElement().satisfies(payload -> assertThat(payload).endsWith(":EVENT:7,8"));
+    }
+    
+    @Test
+    void notificationsInsideATransactionAreSentOnCommitOnly() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        transaction.executeWithoutResult(status -> {
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, 1L);
+            status.setRollbackOnly();
+        });
+        assertThat(receive(0)).isEmpty();
+        
+        transaction.executeWithoutResult(status -> cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, 2L));
+        assertThat(receive(1)).singleElement().satisfies(payload -> assertThat(payload).endsWith(":MEMBER:2"));
+    }
+    
+    @Test
+    void longIdListsAreSplitUnderThePayloadLimit() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1_000_000_000L, 1_000_002_000L).boxed().toList();
+        
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.MEMBER, ids);
+        
+        List<Long> received = new ArrayList<>();
+        List<String> payloads = receive(3);
+        for (String payload : payloads) {
+            assertThat(payload.length()).isLessThan(8000);
+            for (String id : payload.split(":", 3)[2].split(",")) {
+                received.add(Long.parseLong(id));
+            }
+        }
+        assertThat(received).containsExactlyElementsOf(ids);
+    }
+    
+    @Test
+    void memberChangedByAnotherInstanceIsReread() throws Exception {
+        MemberResponse created = memberService.createMember(member("asha@bus.test", "Asha"));
+        assertThat(memberService.getMemberById(created.getId()).getFirstName()).isEqualTo("Asha");
+        
+        // Another instance renames the member and tells everyone
+        jdbcTemplate.update("UPDATE members SET first_name = 'Renamed', updated_at = now() + interval '1 minute' " +
+                "WHERE id = ?", created.getId());
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CacheInvalidationBus.CHANNEL,
+                "other-instance:MEMBER:" + created.getId());
+        
+        awaitTrue(() -> "Renamed".equals(memberService.getMemberById(created.getId()).getFirstName()));
+    }
+    
+    @Test
+    void ownNotificationsAreIgnored() throws Exception {
+        MemberResponse created = memberService.createMember(member("own@bus.test", "Own"));
+        memberService.getMemberById(created.getId());
+        // Changed behind the directory's back, and announced as this instance's own write
+        jdbcTemplate.update("UPDATE members SET first_name = 'Hidden', updated_at = now() + interval '1 minute' " +
+                "WHERE id = ?", created.getId());
+        String ownInstance = receive(1).get(0).split(":", 2)[0];
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CacheInvalidationBus.CHANNEL,
+                ownInstance + ":MEMBER:" + created.getId());
+        receive(1);
+        
+        // Let the bus's listener catch up with the notification it skips
+        Thread.sleep(500);
+        assertThat(memberService.getMemberById(created.getId()).getFirstName()).isEqualTo("Own");
+    }
+    
+    /**
+     * Waits for {@code count} notifications, or just long enough to see that none arrive when it
+     * is zero.
+     */
+    private List<String> receive(int count) throws Exception {
+        PGConnection connection = listener.unwrap(PGConnection.class);
+        List<String> payloads = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + (count == 0 ? 500 : TIMEOUT_MS);
+        while (payloads.size() < count || count == 0) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                break;
+            }
+            PGNotification[] notifications = connection.getNotifications((int) left);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+        }
+        return payloads;
+    }
+    
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waited for the condition").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+    
+    private static CreateMemberRequest member(String email, String firstName) {
+        CreateMemberRequest request = new CreateMemberRequest();
+        request.setType("person");
+        request.setEmail(email);
+        request.setFirstName(firstName);
+        return request;
+    }
+}
@@ -0,0 +1,270 @@
+package com.vibeworks.planning.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.dto.EventSearchHit;
+import com.vibeworks.planning.dto.PageResponse;
+import com.vibeworks.planning.dto.WizardDataRequest;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.dto.WizardPatchResponse;
+import com.vibeworks.planning.dto.WizardSummary;
+import com.vibeworks.planning.exporter.ExportFormat;
+import com.vibeworks.planning.util.exceptions.ExportValueTooLongException;
+import com.vibeworks.planning.util.exceptions.InvalidCursorException;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventServiceIntegrationTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM events WHERE event_name LIKE 'IT %'");
+    }
+    
+    @Test
+    void patchAtTheCurrentVersionAppliesAndMovesTheVersionOn() throws Exception {
+        WizardDataResponse saved = eventService.saveWizardData(wizard("IT Patch", "first"));
+        
+        WizardPatchResponse patched = eventService.patchWizardData("IT Patch", json("""
+                [
+                  {"op": "replace", "path": "/eventInfo", "value": "second"},
+                  {"op": "add", "path": "/completedSteps/-", "value": 2},
+                  {"op": "add", "path": "/tasks/-", "value": {"task": "Book hall"}}
+                ]
+                """), saved.getVersion());
+        
+        assertThat(patched.getVersion()).isGreaterThan(saved.getVersion());
+        WizardDataResponse reloaded = eventService.getWizardData("IT Patch");
+        assertThat(reloaded.getVersion()).isEqualTo(patched.getVersion());
+        assertThat(reloaded.getEventInfo()).isEqualTo("second");
+        assertThat(json(reloaded.getCompletedSteps())).isEqualTo(json("[1, 2]"));
+        assertThat(json(reloaded.getTasks())).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT task FROM tasks WHERE event_id = ?", String.class, saved.getId())).isEqualTo("Book hall");
+    }
+    
+    @Test
+    void patchAtAnOlderVersionIsRejected() throws Exception {
+        WizardDataResponse saved = eventService.saveWizardData(wizard("IT Stale", "first"));
+        eventService.patchWizardData("IT Stale", json("[{\"op\": \"replace\", \"path\": \"/eventInfo\", \"value\": \"other editor\"}]"),
+                saved.getVersion());
+        
+        assertThatThrownBy(() -> eventService.patchWizardData("IT Stale",
+                json("[{\"op\": \"replace\", \"path\": \"/eventInfo\", \"value\": \"mine\"}]"), saved.getVersion()))
+                .isInstanceOf(PatchConflictException.class);
+        assertThat(eventService.getWizardData("IT Stale").getEventInfo()).isEqualTo("other editor");
+    }
+    
+    @Test
+    void failedTestOperationLeavesTheEventUnchanged() throws Exception {
+        WizardDataResponse saved = eventService.saveWizardData(wizard("IT Test Op", "first"));
+        
+        assertThatThrownBy(() -> eventService.patchWizardData("IT Test Op", json("""
+                [
+                  {"op": "replace", "path": "/eventInfo", "value": "changed"},
+                  {"op": "test", "path": "/currentStep", "value": 5}
+                ]
+                """), null))
+                .isInstanceOf(PatchConflictException.class);
+        
+        WizardDataResponse reloaded = eventService.getWizardData("IT Test Op");
+        assertThat(reloaded.getEventInfo()).isEqualTo("first");
+        assertThat(reloaded.getVersion()).isEqualTo(saved.getVersion());
+    }
+    
+    @Test
+    void readsServeTheTaskRowsInListOrder() throws Exception {
+        WizardDataRequest request = wizard("IT Tasks", "info");
+        request.setTasks(List.of(Map.of("task", "Book hall"), Map.of("task", "Send invites"), "Call caterer"));
+        Long id = eventService.saveWizardData(request).getId();
+        List<Long> taskIds = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE event_id = ? ORDER BY position", Long.class, id);
+        JsonNode expected = json("[{\"task\": \"Book hall\", \"taskId\": " + taskIds.get(0) + "}, "
+                + "{\"task\": \"Send invites\", \"taskId\": " + taskIds.get(1) + "}, \"Call caterer\"]");
+        
+        assertThat(json(eventService.getWizardData("IT Tasks").getTasks())).isEqualTo(expected);
+        assertThat(eventService.getAllWizards()).filteredOn(wizard -> wizard.getId().equals(id))
+                .singleElement().satisfies(wizard -> assertThat(json(wizard.getTasks())).isEqualTo(expected));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        eventService.exportEvents(ExportFormat.JSON, out);
+        JsonNode exported = null;
+        for (JsonNode event : objectMapper.readTree(out.toByteArray())) {
+            if (event.path("eventName").asText().equals("IT Tasks")) {
+                exported = event;
+            }
+        }
+        assertThat(exported).isNotNull();
+        assertThat(exported.get("tasks")).isEqualTo(expected);
+    }
+    
+    @Test
+    void taskListsPastTheExcelCellLimitAreRejectedBeforeAnXlsxExport() throws Exception {
+        WizardDataRequest request = wizard("IT Long Tasks", "info");
+        List<Object> tasks = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            tasks.add(Map.of("task", "Task " + i + " " + "x".repeat(100)));
+        }
+        request.setTasks(tasks);
+        eventService.saveWizardData(request);
+        String taskList = eventService.getWizardData("IT Long Tasks").getTasks();
+        assertThat(taskList.length()).isGreaterThan(ExportFormat.XLSX.maxTextLength());
+        
+        assertThatThrownBy(() -> eventService.checkExportable(ExportFormat.XLSX))
+                .isInstanceOf(ExportValueTooLongException.class)
+                .hasMessageContaining("IT Long Tasks");
+        // A value that turns up after the check still fails cleanly, and no partial workbook is written
+        ByteArrayOutputStream xlsx = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> eventService.exportEvents(ExportFormat.XLSX, xlsx))
+                .isInstanceOf(ExportValueTooLongException.class)
+                .hasMessageContaining("Tasks");
+        assertThat(xlsx.size()).isZero();
+        
+        eventService.checkExportable(ExportFormat.JSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        eventService.exportEvents(ExportFormat.JSON, out);
+        JsonNode exported = null;
+        for (JsonNode event : objectMapper.readTree(out.toString(StandardCharsets.UTF_8))) {
+            if (event.path("eventName").asText().equals("IT Long Tasks")) {
+                exported = event;
+            }
+        }
+        assertThat(exported).isNotNull();
+        assertThat(exported.get("tasks")).isEqualTo(json(taskList));
+    }
+    
+    @Test
+    void eventsWithoutTasksServeAnEmptyList() throws Exception {
+        eventService.saveWizardData(wizard("IT No Tasks", "info"));
+        
+        assertThat(json(eventService.getWizardData("IT No Tasks").getTasks())).isEqualTo(json("[]"));
+    }
+    
+    @Test
+    void summaryPagesWalkEveryEventOnceNewestFirst() {
+        // The last event of the first page shares its update time with the first of the second
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123_456_000);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            WizardDataResponse saved = eventService.saveWizardData(wizard("IT Page " + i, "info"));
+            LocalDateTime updatedAt = i == 3 ? base.plusMinutes(2) : base.plusMinutes(i);
+            jdbcTemplate.update("UPDATE events SET updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(updatedAt), saved.getId());
+            expected.add(0, saved.getId());
+        }
+        
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PageResponse<WizardSummary> page = eventService.getWizardSummaries(cursor, 2);
+            page.getItems().stream()
+                    .filter(summary -> summary.getEventName().startsWith("IT Page "))
+                    .forEach(summary -> seen.add(summary.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && seen.size() < expected.size());
+        
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+    
+    @Test
+    void summariesRejectAMalformedCursor() {
+        assertThatThrownBy(() -> eventService.getWizardSummaries("bm90LWEtY3Vyc29y", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+    
+    @Test
+    void searchRanksNameOverInfoOverTaskTitles() {
+        WizardDataRequest byTask = wizard("IT Third", "nothing here");
+        byTask.setTasks(List.of(Map.of("task", "Zyxquasar booth")));
+        eventService.saveWizardData(byTask);
+        eventService.saveWizardData(wizard("IT Zyxquasar Launch", "kick-off"));
+        eventService.saveWizardData(wizard("IT Second", "zyxquasar briefing"));
+        
+        assertThat(eventService.searchEvents("zyxqua", null, 10).getItems())
+                .extracting(EventSearchHit::getEventName)
+                .containsExactly("IT Zyxquasar Launch", "IT Second", "IT Third");
+        assertThat(eventService.searchEvents("Zyxquasar BOO", null, 10).getItems())
+                .extracting(EventSearchHit::getEventName)
+                .containsExactly("IT Third");
+    }
+    
+    @Test
+    void searchPagesContinueFromTheCursor() {
+        for (int i = 0; i < 3; i++) {
+            eventService.saveWizardData(wizard("IT Zyxpaged " + i, "same words"));
+        }
+        
+        List<String> names = new ArrayList<>();
+        PageResponse<EventSearchHit> page = eventService.searchEvents("zyxpaged", null, 2);
+        page.getItems().forEach(hit -> names.add(hit.getEventName()));
+        assertThat(page.getNextCursor()).isNotNull();
+        page = eventService.searchEvents("zyxpaged", page.getNextCursor(), 2);
+        page.getItems().forEach(hit -> names.add(hit.getEventName()));
+        
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(names).containsExactlyInAnyOrder("IT Zyxpaged 0", "IT Zyxpaged 1", "IT Zyxpaged 2");
+    }
+    
+    @Test
+    void searchFollowsTaskTitleChanges() throws Exception {
+        WizardDataResponse saved = eventService.saveWizardData(wizard("IT Renamed Task", "info"));
+        eventService.patchWizardData("IT Renamed Task",
+                json("[{\"op\": \"add\", \"path\": \"/tasks/-\", \"value\": {\"task\": \"Zyxcatering\"}}]"),
+                saved.getVersion());
+        
+        assertThat(eventService.searchEvents("zyxcatering", null, 10).getItems())
+                .extracting(EventSearchHit::getEventName).containsExactly("IT Renamed Task");
+        
+        eventService.patchWizardData("IT Renamed Task", json("[{\"op\": \"remove\", \"path\": \"/tasks/0\"}]"), null);
+        
+        assertThat(eventService.searchEvents("zyxcatering", null, 10).getItems()).isEmpty();
+    }
+    
+    @Test
+    void searchTakesQuerySyntaxAsPlainText() {
+        eventService.saveWizardData(wizard("IT Zyxsyntax", "info"));
+        
+        assertThat(eventService.searchEvents("zyxsyntax & | ! ( :*", null, 10).getItems())
+                .extracting(EventSearchHit::getEventName).containsExactly("IT Zyxsyntax");
+        assertThat(eventService.searchEvents("&|!", null, 10).getItems()).isEmpty();
+    }
+    
+    private static WizardDataRequest wizard(String name, String info) {
+        WizardDataRequest request = new WizardDataRequest();
+        request.setEventName(name);
+        request.setEventInfo(info);
+        request.setStartDate("2026-11-01");
+        request.setCurrentStep(2);
+        request.setCompletedSteps(List.of(1));
+        request.setAssignedMembers(List.of(Map.of("memberId", 1)));
+        request.setTasks(List.of());
+        return request;
+    }
+    
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text);
+    }
+}
@@ -0,0 +1,219 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.MemberResponse;
+import com.vibeworks.planning.model.Member;
+import com.vibeworks.planning.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberDirectoryTest {
+    
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 9, 0);
+    
+    private final List<Member> table = new ArrayList<>();
+    private MemberRepository memberRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private MemberDirectory directory;
+    
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        when(memberRepository.count()).thenAnswer(invocation -> (long) table.size());
+        when(memberRepository.findAll()).thenAnswer(invocation -> List.copyOf(table));
+        when(memberRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Member> found = new ArrayList<>();
+            for (Long id : ids) {
+                table.stream().filter(member -> member.getId().equals(id)).forEach(found::add);
+            }
+            return found;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        directory = new MemberDirectory();
+        ReflectionTestUtils.setField(directory, "enabled", true);
+        ReflectionTestUtils.setField(directory, "maxMembers", 100L);
+        ReflectionTestUtils.setField(directory, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(directory, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(directory, "cacheInvalidationBus", new CacheInvalidationBus());
+        directory.registerMetrics();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void loadsOnceAndServesNewestFirstByIdAndByType() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        table.add(member(2L, "entity", "b@dir.test", 1));
+        table.add(member(3L, "person", "c@dir.test", 2));
+        
+        assertThat(directory.all()).extracting(MemberResponse::getId).containsExactly(3L, 2L, 1L);
+        assertThat(directory.byType("PERSON")).extracting(MemberResponse::getId).containsExactly(3L, 1L);
+        assertThat(directory.byType("venue")).isEmpty();
+        assertThat(directory.byId(2L)).hasValueSatisfying(member -> assertThat(member.getEmail()).isEqualTo("b@dir.test"));
+        assertThat(directory.byId(9L)).isEmpty();
+        
+        verify(memberRepository, times(1)).findAll();
+        assertThat(meterRegistry.get("member.directory.requests").tag("result", "hit").counter().count()).isEqualTo(5);
+    }
+    
+    @Test
+    void tablesOverTheLimitAreReadFromTheDatabase() {
+        ReflectionTestUtils.setField(directory, "maxMembers", 1L);
+        table.add(member(1L, "person", "a@dir.test", 0));
+        table.add(member(2L, "person", "b@dir.test", 1));
+        
+        assertThat(directory.all()).isNull();
+        assertThat(directory.byId(1L)).isNull();
+        
+        verify(memberRepository, never()).findAll();
+        // The count is not repeated on every read
+        verify(memberRepository, times(1)).count();
+        assertThat(meterRegistry.get("member.directory.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+    
+    @Test
+    void putReplacesOnlyWithNewerCopies() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        directory.all();
+        
+        MemberResponse newer = MemberService.mapToResponse(member(1L, "person", "new@dir.test", 0));
+        newer.setUpdatedAt(CREATED.plusHours(1));
+        directory.put(newer);
+        MemberResponse older = MemberService.mapToResponse(member(1L, "person", "old@dir.test", 0));
+        older.setUpdatedAt(CREATED.minusHours(1));
+        directory.put(older);
+        directory.put(MemberService.mapToResponse(member(2L, "entity", "b@dir.test", 1)));
+        
+        assertThat(directory.byId(1L)).hasValueSatisfying(member -> assertThat(member.getEmail()).isEqualTo("new@dir.test"));
+        assertThat(directory.all()).extracting(MemberResponse::getEmail).containsExactly("b@dir.test", "new@dir.test");
+    }
+    
+    @Test
+    void writesKeepTheListsInOrderAndMoveMembersBetweenTypes() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        table.add(member(2L, "entity", "b@dir.test", 2));
+        table.add(member(3L, "person", "c@dir.test", 4));
+        directory.all();
+        
+        directory.put(MemberService.mapToResponse(member(4L, "person", "d@dir.test", 3)));
+        MemberResponse retyped = MemberService.mapToResponse(member(1L, "entity", "a@dir.test", 0));
+        retyped.setUpdatedAt(CREATED.plusHours(1));
+        directory.put(retyped);
+        directory.remove(3L);
+        
+        assertThat(directory.all()).extracting(MemberResponse::getId).containsExactly(4L, 2L, 1L);
+        assertThat(directory.byType("person")).extracting(MemberResponse::getId).containsExactly(4L);
+        assertThat(directory.byType("entity")).extracting(MemberResponse::getId).containsExactly(2L, 1L);
+        assertThat(directory.byId(3L)).isEmpty();
+        
+        directory.remove(4L);
+        assertThat(directory.byType("person")).isEmpty();
+        verify(memberRepository, times(1)).findAll();
+    }
+    
+    @Test
+    void largeBatchesLeaveTheSameListsAsSingleWrites() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        directory.all();
+        
+        List<MemberResponse> batch = new ArrayList<>();
+        for (long id = 100; id < 200; id++) {
+            batch.add(MemberService.mapToResponse(member(id, id % 2 == 0 ? "person" : "entity", id + "@dir.test", (int) (id % 7))));
+        }
+        directory.putAll(batch);
+        
+        List<MemberResponse> expected = new ArrayList<>(batch);
+        expected.add(MemberService.mapToResponse(table.get(0)));
+        expected.sort(Comparator.comparing(MemberResponse::getCreatedAt).thenComparing(MemberResponse::getId).reversed());
+        assertThat(directory.all()).extracting(MemberResponse::getId)
+                .containsExactlyElementsOf(expected.stream().map(MemberResponse::getId).toList());
+        assertThat(directory.byType("entity")).hasSize(50).isSortedAccordingTo(
+                Comparator.comparing(MemberResponse::getCreatedAt).thenComparing(MemberResponse::getId).reversed());
+    }
+    
+    @Test
+    void changesInATransactionApplyWhenItCommits() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        directory.all();
+        
+        TransactionSynchronizationManager.initSynchronization();
+        directory.remove(1L);
+        assertThat(directory.byId(1L)).isPresent();
+        
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertThat(directory.byId(1L)).isEmpty();
+    }
+    
+    @Test
+    void refreshRereadsChangedMembersAndDropsDeletedOnes() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        table.add(member(2L, "person", "b@dir.test", 1));
+        directory.all();
+        
+        // Another instance renamed one member and deleted the other
+        Member renamed = member(1L, "person", "renamed@dir.test", 0);
+        renamed.setUpdatedAt(CREATED.plusHours(1));
+        table.clear();
+        table.add(renamed);
+        directory.refresh(List.of(1L, 2L));
+        
+        assertThat(directory.all()).extracting(MemberResponse::getEmail).containsExactly("renamed@dir.test");
+    }
+    
+    @Test
+    void refreshBeforeTheFirstLoadLeavesItToTheLoad() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        
+        directory.refresh(List.of(1L));
+        
+        verify(memberRepository, never()).findAllById(any());
+        assertThat(directory.byId(1L)).isPresent();
+    }
+    
+    @Test
+    void invalidateMakesTheNextReadLoadAgain() {
+        table.add(member(1L, "person", "a@dir.test", 0));
+        directory.all();
+        table.add(member(2L, "person", "b@dir.test", 1));
+        
+        directory.invalidate();
+        
+        assertThat(directory.all()).extracting(MemberResponse::getId).containsExactly(2L, 1L);
+        verify(memberRepository, times(2)).findAll();
+    }
+    
+    private static Member member(Long id, String type, String email, int minutes) {
+        Member member = new Member();
+        member.setId(id);
+        member.setType(type);
+        member.setEmail(email);
+        member.setCreatedAt(CREATED.plusMinutes(minutes));
+        member.setUpdatedAt(CREATED.plusMinutes(minutes));
+        return member;
+    }
+}
@@ -0,0 +1,121 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.CreateUploadRequest;
+import com.vibeworks.planning.dto.UploadResponse;
+import com.vibeworks.planning.importer.UploadSession;
+import com.vibeworks.planning.util.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadServiceTest {
+    
+    private UploadService uploadService;
+    
+    @BeforeEach
+    void setUp() {
+        uploadService = new UploadService();
+        ReflectionTestUtils.setField(uploadService, "maxSizeMb", 1L);
+        // Everything not touched within the sweep's own call counts as idle
+        ReflectionTestUtils.setField(uploadService, "expiryMinutes", 0L);
+    }
+    
+    @Test
+    void purgeDiscardsIdleUploadsAndTheirFiles() throws Exception {
+        UploadResponse upload = uploadService.createUpload(request(null));
+        uploadService.appendChunk(upload.getUploadId(), 0, stream("email\n"));
+        Path file = partFile(upload.getUploadId());
+        Thread.sleep(5);
+        
+        uploadService.purgeExpiredUploads();
+        
+        assertThat(file).doesNotExist();
+        assertThatThrownBy(() -> uploadService.getUpload(upload.getUploadId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> uploadService.appendChunk(upload.getUploadId(), 6, stream("more")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+    
+    @Test
+    @Timeout(10)
+    void purgeWaitsForAChunkBeingWritten() throws Exception {
+        UploadResponse upload = uploadService.createUpload(request(null));
+        Path file = partFile(upload.getUploadId());
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowBody = new InputStream() {
+            private boolean sent;
+            
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (sent) {
+                    return -1;
+                }
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                buffer[offset] = 'x';
+                sent = true;
+                return 1;
+            }
+        };
+        Thread.sleep(5);
+        
+        CompletableFuture<UploadResponse> append = CompletableFuture.supplyAsync(
+                () -> uploadService.appendChunk(upload.getUploadId(), 0, slowBody));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> purge = CompletableFuture.runAsync(uploadService::purgeExpiredUploads);
+        Thread.sleep(200);
+        assertThat(purge).isNotDone();
+        
+        release.countDown();
+        
+        assertThat(append.get().getOffset()).isEqualTo(1);
+        purge.get();
+        assertThat(uploadService.getUpload(upload.getUploadId()).getOffset()).isEqualTo(1);
+        assertThat(file).exists();
+        
+        uploadService.cancelUpload(upload.getUploadId());
+        assertThat(file).doesNotExist();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Path partFile(String uploadId) {
+        Map<String, UploadSession> uploads = (Map<String, UploadSession>) ReflectionTestUtils.getField(uploadService, "uploads");
+        return uploads.get(uploadId).getPath();
+    }
+    
+    private static CreateUploadRequest request(Long size) {
+        CreateUploadRequest request = new CreateUploadRequest();
+        request.setType("members");
+        request.setFileName("members.csv");
+        request.setSize(size);
+        return request;
+    }
+    
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.vibeworks.planning.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WizardResponseCacheTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus bus;
+    private WizardResponseCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Not started: invalidations are handed to it directly
+        bus = new CacheInvalidationBus();
+        cache = newCache(64);
+    }
+    
+    @Test
+    void hitsOnlyAtTheCachedVersion() {
+        WizardDataResponse response = new WizardDataResponse();
+        cache.put(event(1L, 3L, "[]"), response);
+        
+        assertThat(cache.get(1L, 3L)).isSameAs(response);
+        assertThat(cache.get(1L, 4L)).isNull();
+        assertThat(cache.get(2L, 3L)).isNull();
+    }
+    
+    @Test
+    void invalidateDropsTheEntry() {
+        cache.put(event(1L, 3L, "[]"), new WizardDataResponse());
+        
+        cache.invalidate(1L);
+        
+        assertThat(cache.get(1L, 3L)).isNull();
+    }
+    
+    @Test
+    void eventInvalidationsFromOtherInstancesDropTheirEntries() {
+        cache.put(event(1L, 3L, "[]"), new WizardDataResponse());
+        cache.put(event(2L, 3L, "[]"), new WizardDataResponse());
+        
+        dispatch("other-instance:EVENT:1");
+        
+        assertThat(cache.get(1L, 3L)).isNull();
+        assertThat(cache.get(2L, 3L)).isNotNull();
+    }
+    
+    @Test
+    void memberInvalidationsLeaveResponsesAlone() {
+        cache.put(event(1L, 3L, "[]"), new WizardDataResponse());
+        
+        dispatch("other-instance:MEMBER:1");
+        
+        assertThat(cache.get(1L, 3L)).isNotNull();
+    }
+    
+    @Test
+    void isBoundedByTheEstimatedSizeOfItsEntries() {
+        WizardResponseCache small = newCache(1);
+        // About 200 KB each, so no more than five fit in a megabyte
+        String tasks = "x".repeat(100_000);
+        for (long id = 1; id <= 20; id++) {
+            small.put(event(id, 1L, tasks), new WizardDataResponse());
+        }
+        
+        Cache<?, ?> entries = (Cache<?, ?>) ReflectionTestUtils.getField(small, "cache");
+        entries.cleanUp();
+        
+        assertThat(entries.estimatedSize()).isBetween(1L, 5L);
+    }
+    
+    @Test
+    void publishesHitsAndMisses() {
+        cache.put(event(1L, 3L, "[]"), new WizardDataResponse());
+        
+        cache.get(1L, 3L);
+        cache.get(2L, 3L);
+        
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "wizardResponses").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "wizardResponses").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+    
+    private WizardResponseCache newCache(long maxSizeMb) {
+        WizardResponseCache created = new WizardResponseCache();
+        ReflectionTestUtils.setField(created, "maxSizeMb", maxSizeMb);
+        ReflectionTestUtils.setField(created, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(created, "cacheInvalidationBus", bus);
+        created.createCache();
+        return created;
+    }
+    
+    private void dispatch(String payload) {
+        ReflectionTestUtils.invokeMethod(bus, "dispatch", payload);
+    }
+    
+    private static Event event(Long id, Long version, String tasks) {
+        Event event = new Event();
+        event.setId(id);
+        event.setVersion(version);
+        event.setTasks(tasks);
+        return event;
+    }
+}
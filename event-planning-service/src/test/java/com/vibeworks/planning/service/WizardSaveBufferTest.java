@@ -0,0 +1,193 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.dto.WizardDataRequest;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.repository.EventVersion;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WizardSaveBufferTest {
+    
+    private static final long LONG_WINDOW_MS = 60_000;
+    
+    private final FakeStore store = new FakeStore();
+    private WizardSaveBuffer buffer;
+    
+    @AfterEach
+    void tearDown() {
+        store.release.countDown();
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+    
+    @Test
+    void savesOfAWindowAreWrittenOnceAndAnsweredTogether() throws Exception {
+        buffer = new WizardSaveBuffer(store, 100);
+        
+        CompletableFuture<WizardDataResponse> first = buffer.submit(save("Gala", "draft"));
+        CompletableFuture<WizardDataResponse> second = buffer.submit(save("Gala", "final"));
+        
+        assertThat(first).isNotDone();
+        WizardDataResponse written = second.get(5, TimeUnit.SECONDS);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(written);
+        assertThat(written.getEventInfo()).isEqualTo("final");
+        assertThat(store.writes).containsExactly("final");
+    }
+    
+    @Test
+    void conflictGoesToTheSavesThatLost() {
+        store.versions.put("Gala", 3L);
+        buffer = new WizardSaveBuffer(store, LONG_WINDOW_MS);
+        
+        CompletableFuture<WizardDataResponse> save = buffer.submit(save("Gala", "mine"));
+        // Another editor writes the event before the window closes
+        store.versions.put("Gala", 4L);
+        buffer.flush("Gala");
+        
+        assertThat(save).isCompletedExceptionally();
+        assertThatThrownBy(save::get).isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOfSatisfying(PatchConflictException.class,
+                        conflict -> assertThat(conflict.getVersion()).isEqualTo(4L));
+        assertThat(store.writes).isEmpty();
+        
+        // The next save starts a new window on the current version
+        CompletableFuture<WizardDataResponse> retry = buffer.submit(save("Gala", "reloaded"));
+        buffer.flush("Gala");
+        assertThat(retry.join().getVersion()).isEqualTo(5L);
+    }
+    
+    @Test
+    void windowOpenedDuringAWriteIsWrittenOnTopOfIt() throws Exception {
+        buffer = new WizardSaveBuffer(store, LONG_WINDOW_MS);
+        store.blockWrites();
+        
+        CompletableFuture<WizardDataResponse> first = buffer.submit(save("Gala", "one"));
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(() -> buffer.flush("Gala"));
+        assertThat(store.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<WizardDataResponse> second = buffer.submit(save("Gala", "two"));
+        store.release.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        buffer.flush("Gala");
+        
+        assertThat(first.join().getVersion()).isEqualTo(0L);
+        assertThat(second.join().getVersion()).isEqualTo(1L);
+        assertThat(store.writes).containsExactly("one", "two");
+    }
+    
+    @Test
+    void failedWriteFailsItsSavesAndTheOnesQueuedBehindThem() throws Exception {
+        buffer = new WizardSaveBuffer(store, LONG_WINDOW_MS);
+        store.blockWrites();
+        store.failWrites = true;
+        
+        CompletableFuture<WizardDataResponse> first = buffer.submit(save("Gala", "one"));
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(() -> buffer.flush("Gala"));
+        assertThat(store.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<WizardDataResponse> second = buffer.submit(save("Gala", "two"));
+        store.release.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        buffer.flush("Gala");
+        
+        assertThatThrownBy(first::join).hasRootCauseMessage("database is down");
+        assertThatThrownBy(second::join).hasRootCauseMessage("database is down");
+        assertThat(store.writes).isEmpty();
+    }
+    
+    @Test
+    void closeWritesWhatIsPending() {
+        buffer = new WizardSaveBuffer(store, LONG_WINDOW_MS);
+        CompletableFuture<WizardDataResponse> gala = buffer.submit(save("Gala", "gala"));
+        CompletableFuture<WizardDataResponse> fair = buffer.submit(save("Fair", "fair"));
+        
+        buffer.close();
+        buffer = null;
+        
+        assertThat(gala).isCompleted();
+        assertThat(fair).isCompleted();
+        assertThat(store.writes).containsExactlyInAnyOrder("gala", "fair");
+    }
+    
+    private static WizardDataRequest save(String eventName, String info) {
+        WizardDataRequest request = new WizardDataRequest();
+        request.setEventName(eventName);
+        request.setEventInfo(info);
+        return request;
+    }
+    
+    private static EventVersion version(Long version) {
+        return new EventVersion() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+            
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+    
+    /**
+     * Events by name with their versions, like the upserts: a new event starts at version 0 and
+     * every write moves it on by one.
+     */
+    private static class FakeStore implements WizardSaveBuffer.Store {
+        final Map<String, Long> versions = new ConcurrentHashMap<>();
+        final List<String> writes = new ArrayList<>();
+        final CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(0);
+        volatile boolean failWrites;
+        
+        void blockWrites() {
+            release = new CountDownLatch(1);
+        }
+        
+        @Override
+        public EventVersion find(String eventName) {
+            Long current = versions.get(eventName);
+            return current != null ? version(current) : null;
+        }
+        
+        @Override
+        public WizardDataResponse write(WizardDataRequest request, Long expectedVersion) {
+            writing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failWrites) {
+                throw new IllegalStateException("database is down");
+            }
+            synchronized (this) {
+                Long current = versions.get(request.getEventName());
+                if (current == null ? expectedVersion != null : !current.equals(expectedVersion)) {
+                    return null;
+                }
+                Long written = current == null ? 0L : current + 1;
+                versions.put(request.getEventName(), written);
+                writes.add(request.getEventInfo());
+                WizardDataResponse response = new WizardDataResponse();
+                response.setEventName(request.getEventName());
+                response.setEventInfo(request.getEventInfo());
+                response.setVersion(written);
+                return response;
+            }
+        }
+    }
+}
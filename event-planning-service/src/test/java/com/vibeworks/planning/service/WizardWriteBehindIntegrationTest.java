@@ -0,0 +1,80 @@
+package com.vibeworks.planning.service;
+
+import com.vibeworks.planning.PostgresIntegrationTest;
+import com.vibeworks.planning.dto.WizardDataRequest;
+import com.vibeworks.planning.dto.WizardDataResponse;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Buffered wizard saves written through the versioned upsert, with a short window.
+ */
+@TestPropertySource(properties = {
+    "events.write-behind.enabled=true",
+    "events.write-behind.window-ms=200"
+})
+class WizardWriteBehindIntegrationTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private EventService eventService;
+    
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM events WHERE event_name LIKE 'IT %'");
+    }
+    
+    @Test
+    void savesOfAWindowAreAnsweredWithTheOneWrite() throws Exception {
+        CompletableFuture<WizardDataResponse> draft = eventService.submitWizardData(wizard("IT Buffered", "draft"));
+        CompletableFuture<WizardDataResponse> last = eventService.submitWizardData(wizard("IT Buffered", "last"));
+        
+        WizardDataResponse written = last.get(10, TimeUnit.SECONDS);
+        assertThat(draft.get(10, TimeUnit.SECONDS)).isEqualTo(written);
+        assertThat(written.getId()).isNotNull();
+        assertThat(written.getEventInfo()).isEqualTo("last");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT event_info FROM events WHERE event_name = 'IT Buffered'", String.class)).isEqualTo("last");
+    }
+    
+    @Test
+    void saveBasedOnAnOlderVersionIsRejected() {
+        eventService.saveWizardData(wizard("IT Raced", "first"));
+        
+        CompletableFuture<WizardDataResponse> save = eventService.submitWizardData(wizard("IT Raced", "mine"));
+        // Another instance writes the event while the save is buffered
+        jdbcTemplate.update("UPDATE events SET event_info = 'theirs', version = version + 1 WHERE event_name = 'IT Raced'");
+        
+        assertThatThrownBy(() -> save.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(PatchConflictException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT event_info FROM events WHERE event_name = 'IT Raced'", String.class)).isEqualTo("theirs");
+    }
+    
+    @Test
+    void deleteWritesThePendingSaveFirst() throws Exception {
+        CompletableFuture<WizardDataResponse> save = eventService.submitWizardData(wizard("IT Deleted", "info"));
+        
+        eventService.deleteWizardData("IT Deleted");
+        
+        assertThat(save.get(10, TimeUnit.SECONDS).getEventInfo()).isEqualTo("info");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM events WHERE event_name = 'IT Deleted'", Integer.class)).isZero();
+    }
+    
+    private static WizardDataRequest wizard(String name, String info) {
+        WizardDataRequest request = new WizardDataRequest();
+        request.setEventName(name);
+        request.setEventInfo(info);
+        return request;
+    }
+}
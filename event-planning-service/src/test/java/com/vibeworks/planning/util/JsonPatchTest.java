@@ -0,0 +1,132 @@
+package com.vibeworks.planning.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vibeworks.planning.util.exceptions.InvalidPatchException;
+import com.vibeworks.planning.util.exceptions.PatchConflictException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPatchTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void addsReplacesAndRemoves() throws Exception {
+        ObjectNode document = document("{\"eventInfo\": \"old\", \"tasks\": [{\"title\": \"a\"}], \"currentStep\": 1}");
+        
+        patch("""
+                [
+                  {"op": "replace", "path": "/eventInfo", "value": "new"},
+                  {"op": "add", "path": "/tasks/-", "value": {"title": "c"}},
+                  {"op": "add", "path": "/tasks/1", "value": {"title": "b"}},
+                  {"op": "add", "path": "/tasks/0/done", "value": true},
+                  {"op": "remove", "path": "/currentStep"}
+                ]
+                """).apply(document);
+        
+        assertThat(document).isEqualTo(document(
+                "{\"eventInfo\": \"new\", \"tasks\": [{\"title\": \"a\", \"done\": true}, {\"title\": \"b\"}, {\"title\": \"c\"}]}"));
+    }
+    
+    @Test
+    void movesAndCopies() throws Exception {
+        ObjectNode document = document("{\"tasks\": [1, 2, 3], \"completedSteps\": []}");
+        
+        patch("""
+                [
+                  {"op": "move", "path": "/tasks/0", "from": "/tasks/2"},
+                  {"op": "copy", "path": "/completedSteps/0", "from": "/tasks/1"}
+                ]
+                """).apply(document);
+        
+        assertThat(document).isEqualTo(document("{\"tasks\": [3, 1, 2], \"completedSteps\": [1]}"));
+    }
+    
+    @Test
+    void failedTestIsAConflict() throws Exception {
+        ObjectNode document = document("{\"currentStep\": 2}");
+        JsonPatch patch = patch("[{\"op\": \"test\", \"path\": \"/currentStep\", \"value\": 3}]");
+        
+        assertThatThrownBy(() -> patch.apply(document))
+                .isInstanceOf(PatchConflictException.class)
+                .hasMessageContaining("/currentStep");
+    }
+    
+    @Test
+    void listsTheRootMembersItReadsAndChanges() throws Exception {
+        JsonPatch patch = patch("""
+                [
+                  {"op": "test", "path": "/currentStep", "value": 2},
+                  {"op": "move", "path": "/completedSteps/-", "from": "/tasks/0"},
+                  {"op": "copy", "path": "/eventInfo", "from": "/startDate"}
+                ]
+                """);
+        
+        assertThat(patch.rootMembers()).containsExactly("currentStep", "completedSteps", "tasks", "eventInfo", "startDate");
+        assertThat(patch.modifiedMembers()).containsExactly("completedSteps", "tasks", "eventInfo");
+    }
+    
+    @Test
+    void rejectsMalformedPatches() {
+        assertThatThrownBy(() -> patch("{\"op\": \"add\"}")).isInstanceOf(InvalidPatchException.class);
+        assertThatThrownBy(() -> patch("[{\"op\": \"increment\", \"path\": \"/a\"}]"))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Unsupported");
+        assertThatThrownBy(() -> patch("[{\"op\": \"add\", \"path\": \"/a\"}]"))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("requires a value");
+        assertThatThrownBy(() -> patch("[{\"op\": \"move\", \"path\": \"/a\"}]"))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("'from'");
+        assertThatThrownBy(() -> patch("[{\"op\": \"replace\", \"path\": \"\", \"value\": {}}]"))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("whole document");
+        assertThatThrownBy(() -> patch("[{\"op\": \"remove\", \"path\": \"no-slash\"}]"))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Invalid JSON pointer");
+    }
+    
+    @Test
+    void rejectsPathsThatDoNotResolve() throws Exception {
+        ObjectNode document = document("{\"tasks\": [1, 2]}");
+        
+        assertThatThrownBy(() -> patch("[{\"op\": \"remove\", \"path\": \"/tasks/2\"}]").apply(document))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Invalid array index");
+        assertThatThrownBy(() -> patch("[{\"op\": \"add\", \"path\": \"/tasks/01\", \"value\": 0}]").apply(document))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Invalid array index");
+        assertThatThrownBy(() -> patch("[{\"op\": \"add\", \"path\": \"/missing/x\", \"value\": 0}]").apply(document))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Path not found");
+        assertThatThrownBy(() -> patch("[{\"op\": \"remove\", \"path\": \"/eventInfo\"}]").apply(document))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("Path not found");
+    }
+    
+    @Test
+    void cannotMoveAValueIntoItself() throws Exception {
+        ObjectNode document = document("{\"tasks\": [{\"sub\": []}]}");
+        
+        assertThatThrownBy(() -> patch("[{\"op\": \"move\", \"path\": \"/tasks/0/sub/0\", \"from\": \"/tasks/0\"}]").apply(document))
+                .isInstanceOf(InvalidPatchException.class).hasMessageContaining("into one of its children");
+    }
+    
+    @Test
+    void addedValuesAreCopies() throws Exception {
+        JsonPatch patch = patch("[{\"op\": \"add\", \"path\": \"/tasks\", \"value\": []}]");
+        ObjectNode first = document("{}");
+        ObjectNode second = document("{}");
+        
+        patch.apply(first);
+        ((ArrayNode) first.get("tasks")).add(1);
+        patch.apply(second);
+        
+        assertThat(second.get("tasks")).isEmpty();
+    }
+    
+    private JsonPatch patch(String json) throws Exception {
+        return JsonPatch.parse(objectMapper.readTree(json));
+    }
+    
+    private ObjectNode document(String json) throws Exception {
+        JsonNode node = objectMapper.readTree(json);
+        return (ObjectNode) node;
+    }
+}
@@ -0,0 +1,47 @@
+package com.vibeworks.planning.util;
+
+import com.vibeworks.planning.util.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeekCursorTest {
+    
+    @Test
+    void decodesTheKeysItEncoded() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_456_000);
+        
+        String cursor = SeekCursor.encode(updatedAt, 42L);
+        
+        assertThat(SeekCursor.decode(cursor, 2)).containsExactly(updatedAt.toString(), "42");
+    }
+    
+    @Test
+    void isUrlSafe() {
+        String cursor = SeekCursor.encode("????>>>>", "~~~~", 0.75f);
+        
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(SeekCursor.decode(cursor, 3)).containsExactly("????>>>>", "~~~~", "0.75");
+    }
+    
+    @Test
+    void keepsEmptyKeys() {
+        assertThat(SeekCursor.decode(SeekCursor.encode("", 7L, ""), 3)).containsExactly("", "7", "");
+    }
+    
+    @Test
+    void rejectsCursorsWithTheWrongNumberOfKeys() {
+        String cursor = SeekCursor.encode("a", "b");
+        
+        assertThatThrownBy(() -> SeekCursor.decode(cursor, 3)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> SeekCursor.decode(cursor, 1)).isInstanceOf(InvalidCursorException.class);
+    }
+    
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        assertThatThrownBy(() -> SeekCursor.decode("not a cursor!", 2)).isInstanceOf(InvalidCursorException.class);
+    }
+}